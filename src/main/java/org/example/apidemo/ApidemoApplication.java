@@ -2,8 +2,11 @@ package org.example.apidemo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.PropertySource;
 
-@SpringBootApplication
+// R2DBC is only on the classpath in the -Preactive build and belongs to ReactiveReadApplication
+@SpringBootApplication(excludeName = "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration")
+@PropertySource("classpath:reminders-defaults.properties")
 public class ApidemoApplication {
 
     public static void main(String[] args) {
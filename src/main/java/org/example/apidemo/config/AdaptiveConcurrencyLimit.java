@@ -0,0 +1,114 @@
+package org.example.apidemo.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A concurrency limit that adapts to measured latency (additive increase, multiplicative
+ * decrease). While requests finish within the latency threshold and at least half the
+ * limit is in use, the limit grows by about one per limit's worth of requests; a slow or
+ * failed request cuts it by the backoff ratio, at most once per threshold so that one
+ * burst of slow requests counts as one congestion signal. Requests over the limit are
+ * refused rather than queued.
+ */
+public class AdaptiveConcurrencyLimit {
+    
+    private final int minLimit;
+    
+    private final int maxLimit;
+    
+    private final long latencyThresholdNanos;
+    
+    private final double backoffRatio;
+    
+    private final LongSupplier nanoClock;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    private final LongAdder rejected = new LongAdder();
+    
+    /** Guarded by this; {@link #limit} is its whole-number view for the admission check. */
+    private double estimatedLimit;
+    
+    private long lastDecreaseNanos;
+    
+    private volatile int limit;
+    
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                                    double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio, System::nanoTime);
+    }
+    
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                             double backoffRatio, LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.nanoClock = nanoClock;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        this.lastDecreaseNanos = nanoClock.getAsLong() - latencyThresholdNanos;
+    }
+    
+    /**
+     * Admits the caller if fewer than {@link #getLimit()} requests are in flight. An
+     * admitted caller must call {@link #release} exactly once.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Ends an admitted request that started at {@code startNanos} (from {@link System#nanoTime()})
+     * and adjusts the limit. {@code failed} marks responses that indicate overload, such as
+     * a 5xx, which count as a congestion signal however fast they were.
+     */
+    public void release(long startNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        long now = nanoClock.getAsLong();
+        onSample(now - startNanos, inFlightBefore, failed, now);
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    public long getRejected() {
+        return rejected.sum();
+    }
+    
+    private synchronized void onSample(long latencyNanos, int inFlightBefore, boolean failed, long now) {
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            if (now - lastDecreaseNanos >= latencyThresholdNanos) {
+                estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlightBefore * 2 >= estimatedLimit) {
+            // An idle service learns nothing about its capacity, so only grow when busy
+            estimatedLimit = Math.min(maxLimit, estimatedLimit + 1 / estimatedLimit);
+        }
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.apidemo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on scheduling for the archiver ({@code reminders.archive.enabled}), which moves
+ * old DELIVERED reminders out of the live table.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "reminders.archive.enabled", havingValue = "true")
+public class ArchiveConfig {
+}
@@ -0,0 +1,39 @@
+package org.example.apidemo.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Caching runs ahead of the transaction interceptor so a cache hit never opens a
+ * transaction or borrows a pooled connection, and evictions on writes happen
+ * after the transaction has committed.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+    
+    public static final String REMINDERS_BY_REF = "remindersByRef";
+    
+    @Bean
+    public CacheManager cacheManager(@Value("${reminders.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${reminders.cache.ttl:PT5M}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        // Declaring the cache up front lets actuator bind its hit/miss/eviction metrics at startup
+        cacheManager.setCacheNames(List.of(REMINDERS_BY_REF));
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.apidemo.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Active with {@code reminders.concurrency-limit.enabled}. Puts a
+ * {@link ConcurrencyLimitFilter} in front of {@code /api/reminders}, with separately
+ * tuned limits for reads and writes, and publishes each limit, its in-flight count and
+ * its rejections as {@code reminders.concurrency.*} meters tagged {@code kind}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reminders.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+    
+    @Bean
+    public AdaptiveConcurrencyLimit readConcurrencyLimit(
+            @Value("${reminders.concurrency-limit.read.initial-limit:20}") int initialLimit,
+            @Value("${reminders.concurrency-limit.read.max-limit:200}") int maxLimit,
+            @Value("${reminders.concurrency-limit.read.latency-threshold:PT0.2S}") Duration latencyThreshold,
+            @Value("${reminders.concurrency-limit.min-limit:2}") int minLimit,
+            @Value("${reminders.concurrency-limit.backoff-ratio:0.9}") double backoffRatio) {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio);
+    }
+    
+    @Bean
+    public AdaptiveConcurrencyLimit writeConcurrencyLimit(
+            @Value("${reminders.concurrency-limit.write.initial-limit:10}") int initialLimit,
+            @Value("${reminders.concurrency-limit.write.max-limit:100}") int maxLimit,
+            @Value("${reminders.concurrency-limit.write.latency-threshold:PT0.5S}") Duration latencyThreshold,
+            @Value("${reminders.concurrency-limit.min-limit:2}") int minLimit,
+            @Value("${reminders.concurrency-limit.backoff-ratio:0.9}") double backoffRatio) {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio);
+    }
+    
+    /** Runs just after the request observation filter, so shed requests still show up in http.server.requests. */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimit readConcurrencyLimit, AdaptiveConcurrencyLimit writeConcurrencyLimit,
+            @Value("${reminders.concurrency-limit.retry-after:PT1S}") Duration retryAfter,
+            @Value("${reminders.concurrency-limit.excluded-paths:}") List<String> excludedPaths) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(readConcurrencyLimit, writeConcurrencyLimit, retryAfter,
+                        excludedPaths.stream().map(String::trim).filter(path -> !path.isEmpty()).toList()));
+        registration.addUrlPatterns("/api/reminders", "/api/reminders/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+    
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(AdaptiveConcurrencyLimit readConcurrencyLimit,
+                                               AdaptiveConcurrencyLimit writeConcurrencyLimit) {
+        return registry -> {
+            bind(registry, "read", readConcurrencyLimit);
+            bind(registry, "write", writeConcurrencyLimit);
+        };
+    }
+    
+    private static void bind(MeterRegistry registry, String kind, AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("reminders.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("kind", kind)
+                .register(registry);
+        Gauge.builder("reminders.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Admitted requests still being processed")
+                .tag("kind", kind)
+                .register(registry);
+        FunctionCounter.builder("reminders.concurrency.rejected", limit, AdaptiveConcurrencyLimit::getRejected)
+                .description("Requests refused with 503 because the limit was reached")
+                .tag("kind", kind)
+                .register(registry);
+    }
+}
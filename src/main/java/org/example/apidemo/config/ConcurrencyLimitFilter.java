@@ -0,0 +1,119 @@
+package org.example.apidemo.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits reminder API requests against an {@link AdaptiveConcurrencyLimit}, one for reads
+ * and one for writes, so slow writes cannot starve reads or the reverse. A request over
+ * its limit is answered 503 with Retry-After straight away instead of waiting for a
+ * thread or connection. Paths in {@code excludedPaths} (long-running streams, whose
+ * duration says nothing about load) are passed through unlimited.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    private final AdaptiveConcurrencyLimit reads;
+    
+    private final AdaptiveConcurrencyLimit writes;
+    
+    private final String retryAfterSeconds;
+    
+    private final List<String> excludedPaths;
+    
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit reads, AdaptiveConcurrencyLimit writes,
+                                  Duration retryAfter, List<String> excludedPaths) {
+        this.reads = reads;
+        this.writes = writes;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        this.excludedPaths = excludedPaths;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return excludedPaths.contains(request.getRequestURI());
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimit limit = isRead(request) ? reads : writes;
+        if (!limit.tryAcquire()) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.setContentLength(0);
+            return;
+        }
+        
+        long started = System.nanoTime();
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (completed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limit, started));
+            } else {
+                limit.release(started, !completed || response.getStatus() >= 500);
+            }
+        }
+    }
+    
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+    
+    /** Holds the permit of an asynchronous request until its response is finished. */
+    private static final class ReleaseOnComplete implements AsyncListener {
+    
+        private final AdaptiveConcurrencyLimit limit;
+        
+        private final long started;
+        
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        private ReleaseOnComplete(AdaptiveConcurrencyLimit limit, long started) {
+            this.limit = limit;
+            this.started = started;
+        }
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            release(response != null && response.getStatus() >= 500);
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+        
+        private void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                limit.release(started, failed);
+            }
+        }
+    }
+}
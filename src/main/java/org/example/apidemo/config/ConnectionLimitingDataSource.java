@@ -0,0 +1,107 @@
+package org.example.apidemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits at most {@code permits} concurrently open connections, queueing the rest on a
+ * fair semaphore. With virtual threads the number of request threads is effectively
+ * unbounded, so waiting is bounded here, by pool size, rather than by thread count.
+ * A permit is returned when the borrowed connection is closed.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+    
+    /** Hikari leaves maximumPoolSize unset (-1) until the pool starts, then applies this default. */
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+    
+    private final Semaphore permits;
+    
+    private final long acquireTimeoutMs;
+    
+    public ConnectionLimitingDataSource(DataSource target, int permits, long acquireTimeoutMs) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+    
+    /** One permit per pooled connection, waiting no longer than the pool itself would. */
+    public static ConnectionLimitingDataSource forPool(HikariDataSource pool) {
+        int poolSize = pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+        return new ConnectionLimitingDataSource(pool, poolSize, pool.getConnectionTimeout());
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquirePermit();
+        return limited(obtainTargetDataSource()::getConnection);
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquirePermit();
+        return limited(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+    
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+    
+    public int queueLength() {
+        return permits.getQueueLength();
+    }
+    
+    private void acquirePermit() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No connection permit available within " + acquireTimeoutMs + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", e);
+        }
+    }
+    
+    private Connection limited(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+    
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.apidemo.config;
+
+import org.example.apidemo.service.ReminderSender;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on the due-reminder dispatcher ({@code reminders.dispatch.enabled}). Off by
+ * default: with no {@link ReminderSender} bean declared, reminders would be marked
+ * SENT by the logging stub without being delivered anywhere.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "reminders.dispatch.enabled", havingValue = "true")
+public class DispatchConfig {
+}
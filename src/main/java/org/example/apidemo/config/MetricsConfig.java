@@ -0,0 +1,67 @@
+package org.example.apidemo.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.SessionEventSettings;
+import org.hibernate.cfg.StatisticsSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    
+    /**
+     * Backs the {@code @Timed} annotations on the service layer.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+    
+    /**
+     * Turns on Hibernate statistics, which actuator publishes as {@code hibernate.*} meters,
+     * and logs statements slower than {@code reminders.slow-query.threshold-ms} to the
+     * {@code org.hibernate.SQL_SLOW} logger. Unlike show-sql, fast statements cost nothing.
+     * Statistics would otherwise also log a "Session Metrics" block at INFO when every
+     * session closes, so that per-session listener is switched off; the meters are kept.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statisticsCustomizer(
+            @Value("${reminders.slow-query.threshold-ms:200}") long slowQueryThresholdMs,
+            @Value("${reminders.metrics.max-queries:100}") int maxQueries) {
+        return properties -> {
+            properties.putIfAbsent(StatisticsSettings.GENERATE_STATISTICS, true);
+            properties.putIfAbsent(SessionEventSettings.LOG_SESSION_METRICS, false);
+            properties.putIfAbsent(StatisticsSettings.QUERY_STATISTICS_MAX_SIZE, maxQueries);
+            properties.putIfAbsent("hibernate.log_slow_query", slowQueryThresholdMs);
+        };
+    }
+    
+    /**
+     * Per-query execution counts and durations, tagged with the query string. Listing
+     * filters render a distinct SQL string per combination and IN-list length, so the
+     * number of strings is unbounded: Hibernate keeps statistics for at most
+     * {@code reminders.metrics.max-queries} of them, and meters for further query strings
+     * are denied. The binder only registers with a {@link SessionFactoryImplementor};
+     * unwrapping to {@code SessionFactory} would return Spring's proxy and bind nothing.
+     */
+    @Bean
+    public MeterBinder hibernateQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        return new HibernateQueryMetrics(sessionFactory, "entityManagerFactory", Tags.empty());
+    }
+    
+    @Bean
+    public MeterFilter hibernateQueryTagLimit(@Value("${reminders.metrics.max-queries:100}") int maxQueries) {
+        return MeterFilter.maximumAllowableTags("hibernate.query", "query", maxQueries, MeterFilter.deny());
+    }
+}
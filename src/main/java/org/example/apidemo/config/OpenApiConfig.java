@@ -4,12 +4,33 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class OpenApiConfig {
     
+    /**
+     * With {@code reminders.openapi.lazy}, marks the springdoc beans and the OpenAPI model
+     * lazy, so building them (and the controller scan behind /api-docs) happens on the
+     * first documentation request rather than during startup.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "reminders.openapi.lazy", havingValue = "true")
+    public static BeanFactoryPostProcessor lazyOpenApiBeans() {
+        return beanFactory -> {
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                Class<?> type = beanFactory.getType(name, false);
+                if (type != null && (type.getName().startsWith("org.springdoc.")
+                        || type.getName().startsWith("io.swagger."))) {
+                    beanFactory.getBeanDefinition(name).setLazyInit(true);
+                }
+            }
+        };
+    }
+    
     @Bean
     public OpenAPI reminderOpenAPI() {
         return new OpenAPI()
@@ -0,0 +1,23 @@
+package org.example.apidemo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+    
+    /**
+     * Enables JDBC batching so bulk inserts are sent in groups of {@code reminders.batch-size}
+     * statements. Ordering inserts keeps statements for the same table adjacent so they batch.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(@Value("${reminders.batch-size:500}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+}
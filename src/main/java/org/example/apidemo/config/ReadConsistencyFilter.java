@@ -0,0 +1,74 @@
+package org.example.apidemo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Decides per request whether reads may be served by a replica. A request reads from the
+ * primary when it sends {@code X-Read-Consistency: primary}, or when it carries the
+ * cookie set on the client's last write, which expires after the read-your-writes window
+ * (long enough for the replicas to catch up).
+ */
+public class ReadConsistencyFilter extends OncePerRequestFilter {
+    
+    static final String CONSISTENCY_HEADER = "X-Read-Consistency";
+    
+    static final String LAST_WRITE_COOKIE = "reminders-last-write";
+    
+    private final int readYourWritesSeconds;
+    
+    public ReadConsistencyFilter(Duration readYourWritesWindow) {
+        this.readYourWritesSeconds = (int) Math.max(1, readYourWritesWindow.toSeconds());
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!isRead(request)) {
+            // Set before the response is committed; a failed write only costs a few primary reads
+            Cookie cookie = new Cookie(LAST_WRITE_COOKIE, Long.toString(System.currentTimeMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge(readYourWritesSeconds);
+            response.addCookie(cookie);
+        } else if ("primary".equalsIgnoreCase(request.getHeader(CONSISTENCY_HEADER)) || wroteRecently(request)) {
+            ReadReplicaRoutingDataSource.requirePrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadReplicaRoutingDataSource.clearPrimaryRequired();
+        }
+    }
+    
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+    
+    private boolean wroteRecently(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    long age = System.currentTimeMillis() - Long.parseLong(cookie.getValue());
+                    return age < readYourWritesSeconds * 1000L;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
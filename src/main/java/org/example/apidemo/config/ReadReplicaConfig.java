@@ -0,0 +1,99 @@
+package org.example.apidemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Active with {@code reminders.datasource.replicas.enabled}. Replaces the auto-configured
+ * pool with a primary pool (built from {@code spring.datasource.*}) and one pool per URL
+ * in {@code reminders.datasource.replicas.urls}, behind a
+ * {@link ReadReplicaRoutingDataSource}. Replicas use the primary's credentials and
+ * {@code spring.datasource.hikari.*} settings unless overridden.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reminders.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+    
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            DataSourceProperties properties, Environment environment, ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${reminders.datasource.replicas.urls}") List<String> urls,
+            @Value("${reminders.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${reminders.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${reminders.datasource.replicas.maximum-pool-size:0}") int maximumPoolSize,
+            @Value("${reminders.datasource.replicas.connection-timeout:PT1S}") Duration connectionTimeout,
+            @Value("${reminders.datasource.replicas.balancing:round-robin}") ReadReplicaRoutingDataSource.Balancing balancing,
+            @Value("${reminders.datasource.replicas.health-check-interval:PT5S}") Duration healthCheckInterval,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        
+        HikariDataSource primary = pool(properties, environment, "primary", registry);
+        
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = pool(properties, environment, "replica-" + (replicas.size() + 1), registry);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            // Fail over to the primary quickly instead of waiting out the primary's timeout
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            if (maximumPoolSize > 0) {
+                replica.setMaximumPoolSize(maximumPoolSize);
+            }
+            replicas.add(replica);
+        }
+        return new ReadReplicaRoutingDataSource(primary, replicas, balancing, healthCheckInterval, virtualThreads);
+    }
+    
+    /** What the application uses: the route is only chosen once the first statement runs. */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+    
+    @Bean
+    public ReadConsistencyFilter readConsistencyFilter(
+            @Value("${reminders.datasource.replicas.read-your-writes-window:PT5S}") Duration readYourWritesWindow) {
+        return new ReadConsistencyFilter(readYourWritesWindow);
+    }
+    
+    @Bean
+    public MeterBinder replicaHealthMetrics(ReadReplicaRoutingDataSource routing) {
+        return registry -> Gauge.builder("reminders.datasource.replicas.healthy", routing,
+                        ReadReplicaRoutingDataSource::healthyReplicas)
+                .description("Read replicas currently receiving read-only transactions")
+                .register(registry);
+    }
+    
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment,
+                                         String name, MeterRegistry registry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        if (registry != null) {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        return pool;
+    }
+}
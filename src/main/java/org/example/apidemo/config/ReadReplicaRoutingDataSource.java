@@ -0,0 +1,184 @@
+package org.example.apidemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a replica pool and everything else to
+ * the primary. A replica that fails to hand out a connection, or fails the periodic
+ * validity check, is skipped until a later check passes; with no healthy replica, reads
+ * go to the primary.
+ * <p>
+ * The choice is made when the connection is requested, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction manager asks for a connection before the transaction is marked read-only.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    
+    public enum Balancing {
+        /** Replicas in turn. */
+        ROUND_ROBIN,
+        /** The replica with the fewest connections in use, for uneven query costs. */
+        LEAST_LOADED
+    }
+    
+    /** Set for the current request when it must see its own writes; see {@link ReadConsistencyFilter}. */
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+    
+    private final HikariDataSource primary;
+    
+    /** Where primary connections are taken from: the pool, or the pool behind a permit limit. */
+    private final DataSource primaryConnections;
+    
+    private final List<Replica> replicas;
+    
+    private final Balancing balancing;
+    
+    private final AtomicInteger next = new AtomicInteger();
+    
+    private final ScheduledExecutorService healthCheck;
+    
+    public ReadReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                        Balancing balancing, Duration healthCheckInterval) {
+        this(primary, replicas, balancing, healthCheckInterval, false);
+    }
+    
+    /**
+     * @param limitPrimary put a {@link ConnectionLimitingDataSource} in front of the primary
+     *                     pool (on virtual threads, see {@link VirtualThreadsConfig}); the
+     *                     replica pools are never limited
+     */
+    public ReadReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                        Balancing balancing, Duration healthCheckInterval, boolean limitPrimary) {
+        this.primary = primary;
+        this.primaryConnections = limitPrimary ? ConnectionLimitingDataSource.forPool(primary) : primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.balancing = balancing;
+        this.healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthCheck.scheduleWithFixedDelay(this::checkReplicas, healthCheckInterval.toMillis(),
+                healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+    
+    static void clearPrimaryRequired() {
+        PRIMARY_REQUIRED.remove();
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PRIMARY_REQUIRED.get() != null) {
+            return primaryConnections.getConnection();
+        }
+        Replica replica = choose();
+        if (replica == null) {
+            return primaryConnections.getConnection();
+        }
+        try {
+            return replica.pool.getConnection();
+        } catch (SQLException e) {
+            replica.markDown(e);
+            return primaryConnections.getConnection();
+        }
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections are taken from the configured pools");
+    }
+    
+    /** The primary's permit limit, or {@code null} when the primary is not limited. */
+    public ConnectionLimitingDataSource primaryLimit() {
+        return primaryConnections instanceof ConnectionLimitingDataSource limited ? limited : null;
+    }
+    
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+    
+    @Override
+    public void close() {
+        healthCheck.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+    
+    private Replica choose() {
+        List<Replica> healthy = replicas.stream().filter(replica -> replica.healthy).toList();
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        if (balancing == Balancing.LEAST_LOADED) {
+            return healthy.stream().min(Comparator.comparingInt(Replica::activeConnections)).orElseThrow();
+        }
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+    }
+    
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                if (connection.isValid(1)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+    
+    private static final class Replica {
+        
+        private final HikariDataSource pool;
+        
+        private volatile boolean healthy = true;
+        
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+        
+        private int activeConnections() {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            return mxBean == null ? 0 : mxBean.getActiveConnections();
+        }
+        
+        private void markDown(Exception cause) {
+            if (healthy) {
+                healthy = false;
+                log.warn("Replica {} marked unhealthy, reading from the primary: {}", pool.getPoolName(),
+                        cause == null ? "connection not valid" : cause.getMessage());
+            }
+        }
+        
+        private void markUp() {
+            if (!healthy) {
+                healthy = true;
+                log.info("Replica {} healthy again", pool.getPoolName());
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.apidemo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on scheduling for the periodic resync of the incremental stats counters
+ * ({@code reminders.stats.incremental}).
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "reminders.stats.incremental", havingValue = "true")
+public class StatsConfig {
+}
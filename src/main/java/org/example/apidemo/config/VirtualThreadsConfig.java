@@ -0,0 +1,59 @@
+package org.example.apidemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Active when the servlet stack runs on virtual threads ({@code spring.threads.virtual.enabled},
+ * see the {@code virtual-threads} profile; requires a Java 21 build). Puts a
+ * {@link ConnectionLimitingDataSource} sized to the pool in front of the primary pool only:
+ * the auto-configured {@code dataSource} bean or, with read replicas, the primary pool
+ * inside {@link ReadReplicaRoutingDataSource}. Replica pools are left unwrapped; their
+ * short connection timeout already sends reads to the primary instead of queueing them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+    
+    /** Bean name of the auto-configured pool. */
+    private static final String PRIMARY_DATA_SOURCE = "dataSource";
+    
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari && PRIMARY_DATA_SOURCE.equals(beanName)) {
+                    return ConnectionLimitingDataSource.forPool(hikari);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean
+    public MeterBinder connectionPermitMetrics(DataSource dataSource, ObjectProvider<ReadReplicaRoutingDataSource> routing) {
+        return registry -> {
+            ReadReplicaRoutingDataSource replicas = routing.getIfAvailable();
+            ConnectionLimitingDataSource limited = dataSource instanceof ConnectionLimitingDataSource primary ? primary
+                    : replicas != null ? replicas.primaryLimit() : null;
+            if (limited == null) {
+                return;
+            }
+            Gauge.builder("reminders.datasource.permits.available", limited, ConnectionLimitingDataSource::availablePermits)
+                    .description("Connection permits not currently held")
+                    .register(registry);
+            Gauge.builder("reminders.datasource.permits.waiting", limited, ConnectionLimitingDataSource::queueLength)
+                    .description("Threads waiting for a connection permit")
+                    .register(registry);
+        };
+    }
+}
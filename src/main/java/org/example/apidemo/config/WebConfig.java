@@ -0,0 +1,19 @@
+package org.example.apidemo.config;
+
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Binds {@code status} request parameters with the same case-insensitive parsing the
+ * JSON bodies use, instead of MVC's exact enum-name match.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, ReminderLifecycleStatus.class, ReminderLifecycleStatus::from);
+    }
+}
@@ -2,21 +2,52 @@ package org.example.apidemo.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.apidemo.dto.ReminderBatchResult;
+import org.example.apidemo.dto.ReminderChanges;
+import org.example.apidemo.dto.ReminderColumns;
+import org.example.apidemo.dto.ReminderFilter;
 import org.example.apidemo.dto.ReminderRequest;
 import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.dto.ReminderSlice;
+import org.example.apidemo.dto.ReminderStats;
+import org.example.apidemo.dto.ReminderTransitionRequest;
+import org.example.apidemo.dto.ReminderTransitionResult;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.example.apidemo.exception.ReminderVersionMismatchException;
+import org.example.apidemo.service.ExportFormat;
+import org.example.apidemo.service.ReminderChangeFeed;
+import org.example.apidemo.service.ReminderChangeToken;
+import org.example.apidemo.service.ReminderIngestQueue;
 import org.example.apidemo.service.ReminderService;
+import org.example.apidemo.service.ReminderVersion;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -24,44 +55,97 @@ import java.util.List;
 @Tag(name = "Reminders", description = "API for managing reminders")
 public class ReminderController {
     
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    private static final int MAX_CHANGES = 1000;
+    
+    private static final MediaType COLUMNAR = MediaType.parseMediaType(ReminderColumns.MEDIA_TYPE);
+    
     private final ReminderService reminderService;
     
-    public ReminderController(ReminderService reminderService) {
+    private final ReminderChangeFeed changeFeed;
+    
+    /** Present only with {@code reminders.ingest.async}. */
+    private final ReminderIngestQueue ingestQueue;
+    
+    private final Duration ingestRetryAfter;
+    
+    public ReminderController(ReminderService reminderService,
+                              ReminderChangeFeed changeFeed,
+                              ObjectProvider<ReminderIngestQueue> ingestQueue,
+                              @Value("${reminders.ingest.retry-after:PT1S}") Duration ingestRetryAfter) {
         this.reminderService = reminderService;
+        this.changeFeed = changeFeed;
+        this.ingestQueue = ingestQueue.getIfAvailable();
+        this.ingestRetryAfter = ingestRetryAfter;
     }
     
     @GetMapping("/{referenceNumber}")
     @Operation(
             summary = "Get reminder by reference number",
-            description = "Retrieves a specific reminder using its reference number"
+            description = "Retrieves a specific reminder using its reference number. The response carries an ETag and "
+                    + "Last-Modified derived from updatedAt; If-None-Match / If-Modified-Since are answered with 304."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Reminder found",
                     content = @Content(schema = @Schema(implementation = ReminderResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Reminder not modified since the validator sent"),
             @ApiResponse(responseCode = "404", description = "Reminder not found")
     })
     public ResponseEntity<ReminderResponse> getByReferenceNumber(
             @Parameter(description = "Reference number (ref) of the reminder", required = true, example = "26011715655987")
-            @PathVariable String referenceNumber) {
+            @PathVariable String referenceNumber,
+            
+            WebRequest webRequest) {
         ReminderResponse response = reminderService.getByReferenceNumber(referenceNumber);
-        return ResponseEntity.ok(response);
+        if (response.getUpdatedAt() == null) {
+            return ResponseEntity.ok(response);
+        }
+        
+        String etag = ReminderVersion.etag(response.getUpdatedAt());
+        long lastModified = ReminderVersion.lastModified(response.getUpdatedAt());
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).lastModified(lastModified).body(response);
     }
     
     @GetMapping
     @Operation(
             summary = "Get all reminders",
-            description = "Retrieves all reminders with optional filtering by status and company number, and pagination support"
+            description = "Retrieves all reminders with optional filtering by status and company number, and pagination support. "
+                    + "Passing a cursor switches to keyset pagination: the page parameter is ignored, no total count is computed "
+                    + "and the cursor for the next page is returned in the " + NEXT_CURSOR_HEADER + " header. "
+                    + "The ETag covers the refs and updatedAt of the rows on the page, so If-None-Match is checked "
+                    + "after the page query; If-Modified-Since alone is checked against the latest updatedAt of the "
+                    + "filtered reminders before any row is read. Besides JSON the page can be requested as CBOR "
+                    + "(application/cbor), Smile (application/x-jackson-smile) or with one array per field "
+                    + "(" + ReminderColumns.MEDIA_TYPE + ")."
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of reminders retrieved successfully"),
+            @ApiResponse(responseCode = "200", description = "List of reminders retrieved successfully",
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = ReminderResponse.class))),
+                            @Content(mediaType = ReminderColumns.MEDIA_TYPE,
+                                    schema = @Schema(implementation = ReminderColumns.class))
+                    }),
+            @ApiResponse(responseCode = "304", description = "No reminder matching the filters changed since the validator sent"),
             @ApiResponse(responseCode = "404", description = "No reminders found matching the criteria")
     })
-    public ResponseEntity<List<ReminderResponse>> getAllReminders(
-            @Parameter(description = "Filter by reminder lifecycle status (e.g., POSTED, SENT, DELIVERED)", example = "POSTED")
-            @RequestParam(required = false) String status,
+    public ResponseEntity<?> getAllReminders(
+            @Parameter(description = "Filter by reminder lifecycle status; several may be given, comma separated",
+                    example = "POSTED,PENDING")
+            @RequestParam(required = false) List<ReminderLifecycleStatus> status,
+            
+            @Parameter(description = "Filter by company number; several may be given, comma separated", example = "15655987")
+            @RequestParam(required = false) List<String> companyNumber,
             
-            @Parameter(description = "Filter by company number", example = "15655987")
-            @RequestParam(required = false) String companyNumber,
+            @Parameter(description = "Only reminders due on or after this date", example = "2026-01-12")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            
+            @Parameter(description = "Only reminders due on or before this date", example = "2026-01-18")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
             
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
@@ -73,44 +157,252 @@ public class ReminderController {
             @RequestParam(defaultValue = "createdAt") String sortBy,
             
             @Parameter(description = "Sort direction (ASC or DESC)", example = "DESC")
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            
+            @Parameter(description = "Keyset pagination cursor. Send an empty value for the first page, "
+                    + "then the value of the " + NEXT_CURSOR_HEADER + " header of the previous response")
+            @RequestParam(required = false) String cursor,
+            
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            
+            WebRequest webRequest) {
+        
+        Sort.Direction direction = sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        ReminderFilter filter = ReminderFilter.of(status, companyNumber, dueFrom, dueTo);
         
-        Sort sort = sortDir.equalsIgnoreCase("ASC") ? 
-                Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
-        Pageable pageable = PageRequest.of(page, size, sort);
+        // If-Modified-Since on its own is answered from the latest update, delete or archive move, before the
+        // page is read.
+        // If-None-Match takes precedence and is checked against the page itself, so a plain
+        // request never pays for the aggregate.
+        boolean ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+        LocalDateTime setLastModified = null;
+        if (!ifNoneMatch && webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            setLastModified = reminderService.getLastModified(filter);
+            if (webRequest.checkNotModified(ReminderVersion.lastModified(setLastModified))) {
+                return null;
+            }
+        }
         
-        List<ReminderResponse> reminders = reminderService.getAllReminders(status, companyNumber, pageable);
+        String nextCursor = null;
+        List<ReminderResponse> reminders;
+        if (cursor != null) {
+            ReminderSlice slice = reminderService.getRemindersAfter(filter, cursor, size, sortBy, direction);
+            reminders = slice.getContent();
+            nextCursor = slice.getNextCursor();
+        } else {
+            Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+            reminders = reminderService.getAllReminders(filter, pageable);
+        }
         
         // Return 404 if filters are applied and no results found
-        boolean hasFilters = (status != null && !status.isEmpty()) || (companyNumber != null && !companyNumber.isEmpty());
-        if (hasFilters && reminders.isEmpty()) {
+        if (!filter.isEmpty() && reminders.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         
-        return ResponseEntity.ok(reminders);
+        String scope = String.join("|", filter.toString(), String.valueOf(page),
+                String.valueOf(size), sortBy, direction.name(), String.valueOf(cursor), String.valueOf(accept));
+        String etag = ReminderVersion.listEtag(scope, reminders);
+        if (ifNoneMatch && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        long lastModified = ReminderVersion.lastModified(
+                setLastModified != null ? setLastModified : ReminderVersion.newest(reminders));
+        
+        // Each representation gets its own ETag, since the scope above includes the Accept header
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(etag).lastModified(lastModified)
+                .varyBy(HttpHeaders.ACCEPT);
+        if (nextCursor != null) {
+            ok.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        if (acceptsColumnar(accept)) {
+            return ok.contentType(COLUMNAR).body(ReminderColumns.of(reminders));
+        }
+        return ok.body(reminders);
+    }
+    
+    @GetMapping("/export")
+    @Operation(
+            summary = "Export reminders",
+            description = "Streams every reminder matching the optional filters as NDJSON, CSV or a CBOR sequence "
+                    + "without paging"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format")
+    })
+    public void exportReminders(
+            @Parameter(description = "Filter by reminder lifecycle status; several may be given, comma separated",
+                    example = "POSTED,PENDING")
+            @RequestParam(required = false) List<ReminderLifecycleStatus> status,
+            
+            @Parameter(description = "Filter by company number; several may be given, comma separated", example = "15655987")
+            @RequestParam(required = false) List<String> companyNumber,
+            
+            @Parameter(description = "Only reminders due on or after this date", example = "2026-01-12")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            
+            @Parameter(description = "Only reminders due on or before this date", example = "2026-01-18")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            
+            @Parameter(description = "Export format (NDJSON, CSV or CBOR, written as a CBOR sequence)", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") String format,
+            
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        if (exportFormat != ExportFormat.CBOR) {
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"reminders." + exportFormat.getFileExtension() + "\"");
+        reminderService.exportReminders(ReminderFilter.of(status, companyNumber, dueFrom, dueTo), exportFormat,
+                response.getOutputStream());
+    }
+    
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Get reminder statistics",
+            description = "Returns counts per lifecycle status, the companies with the most open (POSTED) reminders "
+                    + "and the number of overdue reminders, computed with aggregate queries or, when "
+                    + "reminders.stats.incremental is enabled, read from in-memory counters"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics computed successfully",
+                    content = @Content(schema = @Schema(implementation = ReminderStats.class)))
+    })
+    public ResponseEntity<ReminderStats> getStats(
+            @Parameter(description = "Number of companies to return", example = "10")
+            @RequestParam(defaultValue = "10") int top) {
+        return ResponseEntity.ok(reminderService.getStats(top));
+    }
+    
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Get reminder changes",
+            description = "Returns reminders created or updated, and tombstones for refs deleted or renamed, after "
+                    + "the since token, oldest first. Pass nextToken from the response as since on the next call. "
+                    + "With wait, a call that finds no changes is held open until one arrives or the wait ends "
+                    + "(long polling), then answered with the changes or an empty page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ReminderChanges.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed since token"),
+            @ApiResponse(responseCode = "410", description = "Token older than the tombstone retention; "
+                    + "resynchronise from a full listing")
+    })
+    public DeferredResult<ReminderChanges> getChanges(
+            @Parameter(description = "nextToken of the previous response; omit to start from the beginning")
+            @RequestParam(required = false) String since,
+            
+            @Parameter(description = "Maximum number of changes to return", example = "100")
+            @RequestParam(defaultValue = "100") int limit,
+            
+            @Parameter(description = "Seconds to wait for a change when there is none (capped by "
+                    + "reminders.changes.max-wait)", example = "30")
+            @RequestParam(defaultValue = "0") int wait) {
+        ReminderChangeToken token = since == null || since.isEmpty() ? null : ReminderChangeToken.decode(since);
+        return changeFeed.poll(token, Math.max(1, Math.min(limit, MAX_CHANGES)), Duration.ofSeconds(wait));
     }
     
     @PostMapping
     @Operation(
             summary = "Create a new reminder",
-            description = "Creates a new reminder with the provided details"
+            description = "Creates a new reminder with the provided details. With reminders.ingest.async enabled the "
+                    + "request is validated and queued instead, and its outcome is available from the Location returned."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Reminder created successfully",
                     content = @Content(schema = @Schema(implementation = ReminderResponse.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid input or duplicate reference number")
+            @ApiResponse(responseCode = "202", description = "Reminder queued for writing (asynchronous mode)",
+                    content = @Content(schema = @Schema(implementation = ReminderBatchResult.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "409", description = "A reminder with this reference number already exists or is already queued"),
+            @ApiResponse(responseCode = "503", description = "Ingest queue full or shutting down; retry after the Retry-After delay")
     })
-    public ResponseEntity<ReminderResponse> createReminder(
+    public ResponseEntity<?> createReminder(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Reminder details",
                     required = true,
                     content = @Content(schema = @Schema(implementation = ReminderRequest.class))
             )
             @RequestBody ReminderRequest request) {
+        if (ingestQueue != null) {
+            return enqueue(request);
+        }
         ReminderResponse response = reminderService.createReminder(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    @GetMapping("/ingest/{referenceNumber}")
+    @Operation(
+            summary = "Get the outcome of a queued create",
+            description = "Reports whether a reminder accepted by the asynchronous ingest queue is still queued, "
+                    + "was created, or was rejected when written"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status found",
+                    content = @Content(schema = @Schema(implementation = ReminderBatchResult.class))),
+            @ApiResponse(responseCode = "404", description = "Reference number not queued recently, or asynchronous mode is off")
+    })
+    public ResponseEntity<ReminderBatchResult> getIngestStatus(
+            @Parameter(description = "Reference number (ref) of the queued reminder", required = true, example = "26011715655987")
+            @PathVariable String referenceNumber) {
+        ReminderBatchResult status = ingestQueue == null ? null : ingestQueue.status(referenceNumber);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status);
+    }
+    
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Create reminders in bulk",
+            description = "Creates many reminders in one call using a single duplicate check per chunk and batched inserts. "
+                    + "Returns one result per submitted item, in the submitted order."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see the outcome of each item")
+    })
+    public ResponseEntity<List<ReminderBatchResult>> createReminders(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Reminders to create",
+                    required = true
+            )
+            @RequestBody List<ReminderRequest> requests) {
+        List<ReminderBatchResult> results = reminderService.createReminders(requests);
+        return ResponseEntity.ok(results);
+    }
+    
+    @PostMapping("/transitions")
+    @Operation(
+            summary = "Change the status of reminders in bulk",
+            description = "Moves every reminder matching the filters (the listing's status, companyNumber, dueFrom and "
+                    + "dueTo) and, if given, currently in one of the fromStatus values to reminderLifecycleStatus. "
+                    + "Runs as set-based updates in chunks rather than one update per reminder; moving to SENT also "
+                    + "sets reminderSentAt. Reminders already in the target status are not touched. At least one "
+                    + "filter or fromStatus is required."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transition applied; the number of reminders moved is returned",
+                    content = @Content(schema = @Schema(implementation = ReminderTransitionResult.class))),
+            @ApiResponse(responseCode = "400", description = "No target status, or neither a filter nor fromStatus given")
+    })
+    public ResponseEntity<ReminderTransitionResult> transitionReminders(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Filters, optional fromStatus guard and target status",
+                    required = true,
+                    content = @Content(schema = @Schema(implementation = ReminderTransitionRequest.class))
+            )
+            @RequestBody ReminderTransitionRequest request) {
+        boolean guarded = request.getFromStatus() != null && !request.getFromStatus().isEmpty();
+        if (request.getReminderLifecycleStatus() == null || (request.toFilter().isEmpty() && !guarded)) {
+            return ResponseEntity.badRequest().build();
+        }
+        long updated = reminderService.transitionReminders(request);
+        return ResponseEntity.ok(new ReminderTransitionResult(updated));
+    }
+    
     @PutMapping("/{referenceNumber}")
     @Operation(
             summary = "Update a reminder",
@@ -120,7 +412,9 @@ public class ReminderController {
             @ApiResponse(responseCode = "200", description = "Reminder updated successfully",
                     content = @Content(schema = @Schema(implementation = ReminderResponse.class))),
             @ApiResponse(responseCode = "404", description = "Reminder not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid input")
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "409", description = "Another reminder already has the new reference number"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
     })
     public ResponseEntity<ReminderResponse> updateReminder(
             @Parameter(description = "Reference number (ref) of the reminder to update", required = true, example = "26011715655987")
@@ -131,9 +425,13 @@ public class ReminderController {
                     required = true,
                     content = @Content(schema = @Schema(implementation = ReminderRequest.class))
             )
-            @RequestBody ReminderRequest request) {
-        ReminderResponse response = reminderService.updateReminder(referenceNumber, request);
-        return ResponseEntity.ok(response);
+            @RequestBody ReminderRequest request,
+            
+            @Parameter(description = "ETag of the version the update is based on; the update is rejected with 412 "
+                    + "if the reminder has changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ReminderResponse response = reminderService.updateReminder(referenceNumber, request, expectedVersion(ifMatch));
+        return withValidators(response);
     }
     
     @PatchMapping("/{referenceNumber}")
@@ -145,7 +443,9 @@ public class ReminderController {
             @ApiResponse(responseCode = "200", description = "Reminder updated successfully",
                     content = @Content(schema = @Schema(implementation = ReminderResponse.class))),
             @ApiResponse(responseCode = "404", description = "Reminder not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid input")
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "409", description = "Another reminder already has the new reference number"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
     })
     public ResponseEntity<ReminderResponse> patchReminder(
             @Parameter(description = "Reference number (ref) of the reminder to update", required = true, example = "26011715655987")
@@ -156,9 +456,13 @@ public class ReminderController {
                     required = true,
                     content = @Content(schema = @Schema(implementation = ReminderRequest.class))
             )
-            @RequestBody ReminderRequest request) {
-        ReminderResponse response = reminderService.patchReminder(referenceNumber, request);
-        return ResponseEntity.ok(response);
+            @RequestBody ReminderRequest request,
+            
+            @Parameter(description = "ETag of the version the update is based on; the update is rejected with 412 "
+                    + "if the reminder has changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ReminderResponse response = reminderService.patchReminder(referenceNumber, request, expectedVersion(ifMatch));
+        return withValidators(response);
     }
     
     @DeleteMapping("/{referenceNumber}")
@@ -176,5 +480,62 @@ public class ReminderController {
         reminderService.deleteReminder(referenceNumber);
         return ResponseEntity.noContent().build();
     }
+    
+    /**
+     * Turns an {@code If-Match} header into the {@code updated_at} the update must find.
+     * {@code *} or no header means unconditional; a tag that is not one of ours can never match.
+     */
+    private LocalDateTime expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        return ReminderVersion.parse(ifMatch)
+                .orElseThrow(() -> new ReminderVersionMismatchException("If-Match does not name a version: " + ifMatch));
+    }
+    
+    /**
+     * The columnar layout is only sent when asked for by name; wildcards keep getting the
+     * plain JSON array (or CBOR/Smile, negotiated by the message converters as usual).
+     */
+    private boolean acceptsColumnar(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(mediaType -> mediaType.equalsTypeAndSubtype(COLUMNAR) && mediaType.getQualityValue() > 0);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+    
+    private ResponseEntity<ReminderResponse> withValidators(ReminderResponse response) {
+        if (response.getUpdatedAt() == null) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.ok()
+                .eTag(ReminderVersion.etag(response.getUpdatedAt()))
+                .lastModified(ReminderVersion.lastModified(response.getUpdatedAt()))
+                .body(response);
+    }
+    
+    private ResponseEntity<ReminderBatchResult> enqueue(ReminderRequest request) {
+        String invalidReason = ReminderService.validateForCreate(request);
+        if (invalidReason != null) {
+            return ResponseEntity.badRequest()
+                    .body(new ReminderBatchResult(request.getRef(), ReminderBatchResult.Outcome.INVALID, invalidReason));
+        }
+        
+        return switch (ingestQueue.submit(request)) {
+            case ACCEPTED -> ResponseEntity.accepted()
+                    .location(URI.create("/api/reminders/ingest/" + request.getRef()))
+                    .body(new ReminderBatchResult(request.getRef(), ReminderBatchResult.Outcome.QUEUED, null));
+            case ALREADY_QUEUED -> ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ReminderBatchResult(request.getRef(), ReminderBatchResult.Outcome.DUPLICATE,
+                            "Reminder with reference number is already queued: " + request.getRef()));
+            case QUEUE_FULL, SHUTTING_DOWN -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ingestRetryAfter.toSeconds())))
+                    .build();
+        };
+    }
 }
-
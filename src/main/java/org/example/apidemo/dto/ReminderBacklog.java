@@ -0,0 +1,18 @@
+package org.example.apidemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Reminders that are due but not yet sent. {@code oldestDueDate} is null when there are none.
+ */
+@Data
+@AllArgsConstructor
+public class ReminderBacklog {
+    
+    private long count;
+    
+    private LocalDate oldestDueDate;
+}
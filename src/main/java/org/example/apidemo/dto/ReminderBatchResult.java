@@ -0,0 +1,32 @@
+package org.example.apidemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of one item of a batch create request, or of a queued asynchronous create")
+public class ReminderBatchResult {
+    
+    public enum Outcome {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        /** Accepted by the asynchronous ingest queue and not written yet. */
+        QUEUED,
+        /** The asynchronous write of the item failed. */
+        FAILED
+    }
+    
+    @Schema(description = "Reference number (ref) of the item", example = "26011715655987")
+    private String ref;
+    
+    @Schema(description = "Outcome for the item", example = "CREATED")
+    private Outcome outcome;
+    
+    @Schema(description = "Reason the item was not created", example = "Reminder with reference number already exists")
+    private String message;
+}
@@ -0,0 +1,50 @@
+package org.example.apidemo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the change feed: a reminder as it is now, or a tombstone for a ref that
+ * no longer exists. A reminder changed several times since the consumer's position
+ * appears once, in its latest state.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "A reminder created, updated or deleted since the feed position")
+public class ReminderChange {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        /** The ref was deleted, or renamed to another ref (which is reported separately). */
+        DELETED
+    }
+    
+    @Schema(description = "Kind of change", example = "UPDATED")
+    private Type type;
+    
+    @Schema(description = "Reference number (ref)", example = "26011715655987")
+    private String ref;
+    
+    @Schema(description = "When the change was made", example = "2026-01-12T10:15:30.123456")
+    private LocalDateTime changedAt;
+    
+    @Schema(description = "The reminder after the change; absent for DELETED")
+    private ReminderResponse reminder;
+    
+    public static ReminderChange of(ReminderResponse reminder) {
+        Type type = reminder.getUpdatedAt().equals(reminder.getCreatedAt()) ? Type.CREATED : Type.UPDATED;
+        return new ReminderChange(type, reminder.getRef(), reminder.getUpdatedAt(), reminder);
+    }
+    
+    public static ReminderChange deleted(String ref, LocalDateTime deletedAt) {
+        return new ReminderChange(Type.DELETED, ref, deletedAt, null);
+    }
+}
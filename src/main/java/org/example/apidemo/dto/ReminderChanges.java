@@ -0,0 +1,24 @@
+package org.example.apidemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A page of the change feed, oldest change first. {@code nextToken} is the position to
+ * ask from next time; it is returned even when there are no changes.
+ */
+@Data
+@AllArgsConstructor
+public class ReminderChanges {
+    
+    private List<ReminderChange> changes;
+    
+    @Schema(description = "Pass as since on the next request")
+    private String nextToken;
+    
+    @Schema(description = "Whether more changes are available right away")
+    private boolean more;
+}
@@ -0,0 +1,65 @@
+package org.example.apidemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Column-oriented form of a page of {@link ReminderResponse}s: each field name appears
+ * once, followed by its values for every row in page order.
+ */
+@Data
+@Schema(description = "A page of reminders as one array per field, returned for "
+        + ReminderColumns.MEDIA_TYPE)
+public class ReminderColumns {
+    
+    public static final String MEDIA_TYPE = "application/vnd.reminders.columnar+json";
+    
+    private int rows;
+    
+    private List<String> ref;
+    
+    private List<String> companyNumber;
+    
+    private List<LocalDate> dueDate;
+    
+    private List<ReminderLifecycleStatus> reminderLifecycleStatus;
+    
+    private List<LocalDateTime> reminderGeneratedAt;
+    
+    private List<LocalDateTime> reminderSentAt;
+    
+    private List<LocalDateTime> createdAt;
+    
+    private List<LocalDateTime> updatedAt;
+    
+    public static ReminderColumns of(List<ReminderResponse> reminders) {
+        int rows = reminders.size();
+        ReminderColumns columns = new ReminderColumns();
+        columns.rows = rows;
+        columns.ref = new ArrayList<>(rows);
+        columns.companyNumber = new ArrayList<>(rows);
+        columns.dueDate = new ArrayList<>(rows);
+        columns.reminderLifecycleStatus = new ArrayList<>(rows);
+        columns.reminderGeneratedAt = new ArrayList<>(rows);
+        columns.reminderSentAt = new ArrayList<>(rows);
+        columns.createdAt = new ArrayList<>(rows);
+        columns.updatedAt = new ArrayList<>(rows);
+        for (ReminderResponse reminder : reminders) {
+            columns.ref.add(reminder.getRef());
+            columns.companyNumber.add(reminder.getCompanyNumber());
+            columns.dueDate.add(reminder.getDueDate());
+            columns.reminderLifecycleStatus.add(reminder.getReminderLifecycleStatus());
+            columns.reminderGeneratedAt.add(reminder.getReminderGeneratedAt());
+            columns.reminderSentAt.add(reminder.getReminderSentAt());
+            columns.createdAt.add(reminder.getCreatedAt());
+            columns.updatedAt.add(reminder.getUpdatedAt());
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.apidemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Number of reminders sharing one value of a grouping column")
+public class ReminderCount {
+    
+    @Schema(description = "Grouping value, e.g. a company number", example = "15655987")
+    private String key;
+    
+    @Schema(description = "Number of reminders", example = "42")
+    private long count;
+    
+    /** Grouped by lifecycle status; the key is the status name. */
+    public ReminderCount(ReminderLifecycleStatus status, long count) {
+        this(status == null ? null : status.name(), count);
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.apidemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Filters of a reminder listing or export. Statuses and company numbers each match any
+ * of their values; the due date bounds are inclusive. Null or empty values do not filter.
+ */
+@Data
+@AllArgsConstructor
+public class ReminderFilter {
+    
+    private List<ReminderLifecycleStatus> statuses;
+    
+    private List<String> companyNumbers;
+    
+    private LocalDate dueFrom;
+    
+    private LocalDate dueTo;
+    
+    /**
+     * Builds a filter from request parameters, dropping the empty entries a trailing comma
+     * or an empty parameter leaves in the lists.
+     */
+    public static ReminderFilter of(List<ReminderLifecycleStatus> statuses, List<String> companyNumbers,
+                                    LocalDate dueFrom, LocalDate dueTo) {
+        List<ReminderLifecycleStatus> statusValues = statuses == null ? null
+                : statuses.stream().filter(Objects::nonNull).toList();
+        List<String> companyNumberValues = companyNumbers == null ? null
+                : companyNumbers.stream().filter(value -> value != null && !value.isBlank()).toList();
+        return new ReminderFilter(statusValues, companyNumberValues, dueFrom, dueTo);
+    }
+    
+    public static ReminderFilter none() {
+        return new ReminderFilter(null, null, null, null);
+    }
+    
+    public boolean hasStatuses() {
+        return statuses != null && !statuses.isEmpty();
+    }
+    
+    public boolean hasCompanyNumbers() {
+        return companyNumbers != null && !companyNumbers.isEmpty();
+    }
+    
+    public boolean hasDueDateRange() {
+        return dueFrom != null || dueTo != null;
+    }
+    
+    public boolean isEmpty() {
+        return !hasStatuses() && !hasCompanyNumbers() && !hasDueDateRange();
+    }
+}
@@ -2,6 +2,7 @@ package org.example.apidemo.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
 
 import java.time.LocalDate;
 
@@ -18,7 +19,7 @@ public class ReminderRequest {
     @Schema(description = "Due date for the reminder", example = "2026-01-17", required = true)
     private LocalDate dueDate;
     
-    @Schema(description = "Reminder lifecycle status", example = "POSTED", allowableValues = {"POSTED", "SENT", "DELIVERED", "PENDING"})
-    private String reminderLifecycleStatus;
+    @Schema(description = "Reminder lifecycle status, case-insensitive", example = "POSTED")
+    private ReminderLifecycleStatus reminderLifecycleStatus;
 }
 
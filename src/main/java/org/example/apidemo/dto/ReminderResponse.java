@@ -4,6 +4,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -24,7 +25,7 @@ public class ReminderResponse {
     private LocalDate dueDate;
     
     @Schema(description = "Reminder lifecycle status", example = "POSTED")
-    private String reminderLifecycleStatus;
+    private ReminderLifecycleStatus reminderLifecycleStatus;
     
     @Schema(description = "Reminder generated timestamp", example = "2025-12-03T09:00:10")
     private LocalDateTime reminderGeneratedAt;
@@ -0,0 +1,18 @@
+package org.example.apidemo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+public class ReminderSlice {
+
+    private List<ReminderResponse> content;
+
+    private String nextCursor;
+}
@@ -0,0 +1,34 @@
+package org.example.apidemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Aggregate reminder counts for dashboards")
+public class ReminderStats {
+    
+    public enum Source {
+        QUERY,
+        COUNTERS
+    }
+    
+    @Schema(description = "Number of reminders per lifecycle status; reminders without a status are counted under UNSET")
+    private Map<String, Long> byStatus;
+    
+    @Schema(description = "Companies with the most open (POSTED) reminders, largest first")
+    private List<ReminderCount> topCompanies;
+    
+    @Schema(description = "Open (POSTED) reminders whose due date has passed", example = "17")
+    private long overdue;
+    
+    @Schema(description = "Whether the counts were computed by aggregate queries or read from in-memory counters",
+            example = "QUERY")
+    private Source source;
+}
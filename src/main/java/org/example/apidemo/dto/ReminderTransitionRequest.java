@@ -0,0 +1,41 @@
+package org.example.apidemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/reminders/transitions}. The filters have the names and meaning
+ * of the listing's query parameters; the reminders they match are moved to
+ * {@code reminderLifecycleStatus}.
+ */
+@Data
+@Schema(description = "Bulk status transition of the reminders matching the filters")
+public class ReminderTransitionRequest {
+    
+    @Schema(description = "Only reminders in one of these statuses", example = "[\"POSTED\"]")
+    private List<ReminderLifecycleStatus> status;
+    
+    @Schema(description = "Only reminders of one of these companies", example = "[\"15655987\"]")
+    private List<String> companyNumber;
+    
+    @Schema(description = "Only reminders due on or after this date", example = "2026-01-12")
+    private LocalDate dueFrom;
+    
+    @Schema(description = "Only reminders due on or before this date", example = "2026-01-18")
+    private LocalDate dueTo;
+    
+    @Schema(description = "Guard: statuses a reminder may be moved from; others are left as they are",
+            example = "[\"POSTED\",\"PENDING\"]")
+    private List<ReminderLifecycleStatus> fromStatus;
+    
+    @Schema(description = "Status to move the matching reminders to, case-insensitive", example = "SENT", required = true)
+    private ReminderLifecycleStatus reminderLifecycleStatus;
+    
+    public ReminderFilter toFilter() {
+        return ReminderFilter.of(status, companyNumber, dueFrom, dueTo);
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.apidemo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk status transition")
+public class ReminderTransitionResult {
+    
+    @Schema(description = "Number of reminders moved to the target status", example = "1250")
+    private long updated;
+}
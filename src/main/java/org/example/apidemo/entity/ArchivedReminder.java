@@ -0,0 +1,62 @@
+package org.example.apidemo.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A DELIVERED reminder moved out of the live table by the archiver. Read-only: it is
+ * only ever looked up by ref when the live table has no such reminder.
+ */
+@Entity
+@Table(name = "reminders_archive", schema = "companies_house_data")
+@IdClass(ArchivedReminder.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedReminder {
+    
+    @Id
+    @Column(name = "ref", nullable = false, length = 100)
+    private String ref;
+    
+    @Id
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+    
+    @Column(name = "company_number", nullable = false, length = 255)
+    private String companyNumber;
+    
+    @Column(name = "reminder_lifecycle_status")
+    private ReminderLifecycleStatus reminderLifecycleStatus;
+    
+    @Column(name = "reminder_generated_at", nullable = false)
+    private LocalDateTime reminderGeneratedAt;
+    
+    @Column(name = "reminder_sent_at")
+    private LocalDateTime reminderSentAt;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "archived_at", insertable = false, updatable = false)
+    private LocalDateTime archivedAt;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+    
+        private String ref;
+        
+        private LocalDate dueDate;
+    }
+}
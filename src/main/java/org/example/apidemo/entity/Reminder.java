@@ -1,9 +1,14 @@
 package org.example.apidemo.entity;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -12,8 +17,7 @@ import java.time.LocalDateTime;
 @Table(name = "reminders", schema = "companies_house_data")
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-public class Reminder {
+public class Reminder implements Persistable<String> {
     
     @Id
     @Column(name = "ref", nullable = false, length = 100)
@@ -25,8 +29,8 @@ public class Reminder {
     @Column(name = "due_date", nullable = false)
     private LocalDate dueDate;
     
-    @Column(name = "reminder_lifecycle_status", length = 50)
-    private String reminderLifecycleStatus;
+    @Column(name = "reminder_lifecycle_status")
+    private ReminderLifecycleStatus reminderLifecycleStatus;
     
     @Column(name = "reminder_generated_at", nullable = false)
     private LocalDateTime reminderGeneratedAt;
@@ -39,5 +43,47 @@ public class Reminder {
     
     @Column(name = "updated_at", insertable = false, updatable = false)
     private LocalDateTime updatedAt;
+    
+    /**
+     * The ref is assigned by the caller, so Spring Data cannot tell a new reminder
+     * from a detached one. Tracking it here lets {@code save()} persist new rows
+     * directly instead of merging them, which would SELECT before every INSERT.
+     * Only the lifecycle callbacks below change it.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity = true;
+    
+    public Reminder(String ref, String companyNumber, LocalDate dueDate, ReminderLifecycleStatus reminderLifecycleStatus,
+                    LocalDateTime reminderGeneratedAt, LocalDateTime reminderSentAt, LocalDateTime createdAt,
+                    LocalDateTime updatedAt) {
+        this.ref = ref;
+        this.companyNumber = companyNumber;
+        this.dueDate = dueDate;
+        this.reminderLifecycleStatus = reminderLifecycleStatus;
+        this.reminderGeneratedAt = reminderGeneratedAt;
+        this.reminderSentAt = reminderSentAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    @Override
+    public String getId() {
+        return ref;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+    
+    @PostLoad
+    @PrePersist
+    void markNotNew() {
+        newEntity = false;
+    }
 }
 
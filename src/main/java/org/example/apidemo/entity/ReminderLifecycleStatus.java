@@ -0,0 +1,54 @@
+package org.example.apidemo.entity;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Lifecycle of a reminder. Stored as a SMALLINT {@link #getCode() code} (see
+ * {@link ReminderLifecycleStatusConverter}); the codes are part of the schema, and the
+ * partial indexes and native queries refer to them, so they must never be renumbered.
+ */
+@Getter
+public enum ReminderLifecycleStatus {
+    POSTED(1),
+    SENT(2),
+    DELIVERED(3),
+    PENDING(4);
+    
+    /** Statuses still awaiting delivery, covered by the partial "active" indexes. */
+    public static final Set<ReminderLifecycleStatus> ACTIVE = Set.of(POSTED, PENDING);
+    
+    private final short code;
+    
+    ReminderLifecycleStatus(int code) {
+        this.code = (short) code;
+    }
+    
+    public static ReminderLifecycleStatus fromCode(short code) {
+        for (ReminderLifecycleStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown reminder lifecycle status code: " + code);
+    }
+    
+    /**
+     * Case-insensitive, so values clients sent before the status was typed keep parsing.
+     * A blank value means no status.
+     */
+    @JsonCreator
+    public static ReminderLifecycleStatus from(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        for (ReminderLifecycleStatus status : values()) {
+            if (status.name().equalsIgnoreCase(value.trim())) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported reminder lifecycle status: " + value);
+    }
+}
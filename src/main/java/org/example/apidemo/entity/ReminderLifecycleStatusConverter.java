@@ -0,0 +1,18 @@
+package org.example.apidemo.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class ReminderLifecycleStatusConverter implements AttributeConverter<ReminderLifecycleStatus, Short> {
+    
+    @Override
+    public Short convertToDatabaseColumn(ReminderLifecycleStatus status) {
+        return status == null ? null : status.getCode();
+    }
+    
+    @Override
+    public ReminderLifecycleStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : ReminderLifecycleStatus.fromCode(code);
+    }
+}
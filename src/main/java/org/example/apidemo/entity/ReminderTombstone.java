@@ -0,0 +1,40 @@
+package org.example.apidemo.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Records that a ref stopped existing, by delete or rename, so the change feed can
+ * report it after the row itself is gone.
+ */
+@Entity
+@Table(name = "reminder_tombstones", schema = "companies_house_data")
+@IdClass(ReminderTombstone.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderTombstone {
+    
+    @Id
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    
+    @Id
+    @Column(name = "ref", nullable = false, length = 100)
+    private String ref;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+    
+        private LocalDateTime deletedAt;
+        
+        private String ref;
+    }
+}
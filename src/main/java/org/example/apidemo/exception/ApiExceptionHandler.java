@@ -0,0 +1,85 @@
+package org.example.apidemo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Maps the expected domain outcomes to their status codes with a fixed body, so a miss
+ * never reaches the container's error page or its error-level log. The bodies are
+ * encoded once and written as bytes, independent of the Accept header.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+    
+    private static final byte[] NOT_FOUND = body(HttpStatus.NOT_FOUND, "Reminder not found");
+    
+    private static final byte[] CONFLICT = body(HttpStatus.CONFLICT, "Reference number already exists");
+    
+    private static final byte[] PRECONDITION_FAILED = body(HttpStatus.PRECONDITION_FAILED,
+            "Reminder has been modified since it was read");
+    
+    private static final byte[] BAD_SORT = body(HttpStatus.BAD_REQUEST, "Unsupported sort for the filters in use");
+    
+    private static final byte[] BAD_CURSOR = body(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    
+    private static final byte[] BAD_EXPORT_FORMAT = body(HttpStatus.BAD_REQUEST,
+            "Unsupported export format, use NDJSON, CSV or CBOR");
+    
+    private static final byte[] BAD_CHANGE_TOKEN = body(HttpStatus.BAD_REQUEST, "Malformed change token");
+    
+    private static final byte[] GONE = body(HttpStatus.GONE, "Change token expired, resynchronise from a full listing");
+    
+    @ExceptionHandler(ReminderNotFoundException.class)
+    public ResponseEntity<byte[]> notFound(ReminderNotFoundException e) {
+        return error(HttpStatus.NOT_FOUND, NOT_FOUND);
+    }
+    
+    @ExceptionHandler(DuplicateReferenceException.class)
+    public ResponseEntity<byte[]> conflict(DuplicateReferenceException e) {
+        return error(HttpStatus.CONFLICT, CONFLICT);
+    }
+    
+    @ExceptionHandler(ReminderVersionMismatchException.class)
+    public ResponseEntity<byte[]> preconditionFailed(ReminderVersionMismatchException e) {
+        return error(HttpStatus.PRECONDITION_FAILED, PRECONDITION_FAILED);
+    }
+    
+    @ExceptionHandler(UnsupportedSortException.class)
+    public ResponseEntity<byte[]> badSort(UnsupportedSortException e) {
+        return error(HttpStatus.BAD_REQUEST, BAD_SORT);
+    }
+    
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<byte[]> badCursor(InvalidCursorException e) {
+        return error(HttpStatus.BAD_REQUEST, BAD_CURSOR);
+    }
+    
+    @ExceptionHandler(UnsupportedExportFormatException.class)
+    public ResponseEntity<byte[]> badExportFormat(UnsupportedExportFormatException e) {
+        return error(HttpStatus.BAD_REQUEST, BAD_EXPORT_FORMAT);
+    }
+    
+    @ExceptionHandler(InvalidChangeTokenException.class)
+    public ResponseEntity<byte[]> badChangeToken(InvalidChangeTokenException e) {
+        return error(HttpStatus.BAD_REQUEST, BAD_CHANGE_TOKEN);
+    }
+    
+    @ExceptionHandler(ChangeTokenExpiredException.class)
+    public ResponseEntity<byte[]> gone(ChangeTokenExpiredException e) {
+        return error(HttpStatus.GONE, GONE);
+    }
+    
+    private static ResponseEntity<byte[]> error(HttpStatus status, byte[] body) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+    
+    private static byte[] body(HttpStatus status, String message) {
+        return ("{\"status\":" + status.value() + ",\"error\":\"" + message + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
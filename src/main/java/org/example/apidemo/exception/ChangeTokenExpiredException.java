@@ -0,0 +1,13 @@
+package org.example.apidemo.exception;
+
+/**
+ * A change feed position older than the tombstone retention: deletes since then may
+ * have been forgotten, so the consumer has to resynchronise from a full listing.
+ * Stackless like {@link ReminderNotFoundException}; see {@link ApiExceptionHandler}.
+ */
+public class ChangeTokenExpiredException extends RuntimeException {
+    
+    public ChangeTokenExpiredException() {
+        super("Change token is older than the tombstone retention", null, false, false);
+    }
+}
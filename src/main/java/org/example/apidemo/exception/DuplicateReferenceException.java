@@ -0,0 +1,30 @@
+package org.example.apidemo.exception;
+
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * Another reminder already has the reference number. Like {@link ReminderNotFoundException}
+ * this is an expected outcome of a request, so no stack trace is captured.
+ */
+@Getter
+public class DuplicateReferenceException extends RuntimeException {
+    
+    private final String ref;
+    
+    public DuplicateReferenceException(String ref) {
+        super("Reminder with reference number already exists: " + ref, null, false, false);
+        this.ref = ref;
+    }
+    
+    /**
+     * One of {@code refs} was inserted by another request while they were being written.
+     * The database does not portably report which, so {@link #getRef()} is null.
+     */
+    public DuplicateReferenceException(Collection<String> refs) {
+        super("A reminder with one of these reference numbers was created concurrently: " + refs,
+                null, false, false);
+        this.ref = null;
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.apidemo.exception;
+
+/**
+ * A change feed {@code since} token that cannot be decoded. Unlike
+ * {@link ChangeTokenExpiredException} the consumer sent something we never issued, so it
+ * is answered 400 rather than 410; see {@link ApiExceptionHandler}.
+ */
+public class InvalidChangeTokenException extends RuntimeException {
+    
+    public InvalidChangeTokenException(String message) {
+        super(message, null, false, false);
+    }
+}
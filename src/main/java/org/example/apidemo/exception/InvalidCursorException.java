@@ -0,0 +1,13 @@
+package org.example.apidemo.exception;
+
+/**
+ * A keyset pagination cursor that cannot be decoded, or that was issued for a different
+ * sortBy/sortDir than the request. Bad input rather than a failure, so no stack trace is
+ * captured; see {@link ApiExceptionHandler}.
+ */
+public class InvalidCursorException extends RuntimeException {
+    
+    public InvalidCursorException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.apidemo.exception;
+
+import lombok.Getter;
+
+/**
+ * No reminder has the reference number. Misses are routine (retries, scanners probing
+ * refs), so the exception skips capturing a stack trace; see {@link ApiExceptionHandler}.
+ */
+@Getter
+public class ReminderNotFoundException extends RuntimeException {
+    
+    private final String ref;
+    
+    public ReminderNotFoundException(String ref) {
+        super("Reminder not found with reference number: " + ref, null, false, false);
+        this.ref = ref;
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.apidemo.exception;
+
+/**
+ * An {@code If-Match} precondition failed: the reminder changed since the version the
+ * client read, or the tag names no version. Routine under concurrent edits, so no stack
+ * trace is captured; see {@link ApiExceptionHandler}.
+ */
+public class ReminderVersionMismatchException extends RuntimeException {
+    
+    public ReminderVersionMismatchException(String message) {
+        super(message, null, false, false);
+    }
+}
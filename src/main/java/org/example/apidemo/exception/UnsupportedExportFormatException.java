@@ -0,0 +1,12 @@
+package org.example.apidemo.exception;
+
+/**
+ * The {@code format} of an export request is not one of the supported formats. Bad
+ * input, so no stack trace is captured; see {@link ApiExceptionHandler}.
+ */
+public class UnsupportedExportFormatException extends RuntimeException {
+    
+    public UnsupportedExportFormatException(String format) {
+        super("Unsupported export format: " + format, null, false, false);
+    }
+}
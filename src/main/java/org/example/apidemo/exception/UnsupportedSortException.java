@@ -0,0 +1,13 @@
+package org.example.apidemo.exception;
+
+/**
+ * The requested ordering has no supporting index for the filters in use, or cannot be
+ * used for keyset pagination. Bad input, so no stack trace is captured; see
+ * {@link ApiExceptionHandler}.
+ */
+public class UnsupportedSortException extends RuntimeException {
+    
+    public UnsupportedSortException(String message) {
+        super(message, null, false, false);
+    }
+}
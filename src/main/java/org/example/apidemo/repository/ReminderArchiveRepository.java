@@ -0,0 +1,40 @@
+package org.example.apidemo.repository;
+
+import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.entity.ArchivedReminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface ReminderArchiveRepository extends JpaRepository<ArchivedReminder, ArchivedReminder.Key>,
+        ReminderArchiveRepositoryCustom {
+    
+    @Query("select new org.example.apidemo.dto.ReminderResponse(a.ref, a.companyNumber, a.dueDate, "
+            + "a.reminderLifecycleStatus, a.reminderGeneratedAt, a.reminderSentAt, a.createdAt, a.updatedAt) "
+            + "from ArchivedReminder a where a.ref = :ref")
+    Optional<ReminderResponse> findResponseByRef(@Param("ref") String ref);
+    
+    /** When reminders were last moved out of the live table; indexed by V9. */
+    @Query("select max(a.archivedAt) from ArchivedReminder a")
+    LocalDateTime findLastArchivedAt();
+    
+    @Modifying
+    @Query("delete from ArchivedReminder a where a.ref in :refs")
+    int bulkDeleteByRefIn(@Param("refs") Collection<String> refs);
+    
+    /** Copies the live rows as they are; the caller deletes them in the same transaction. */
+    @Modifying
+    @Query(value = "INSERT INTO companies_house_data.reminders_archive (ref, company_number, due_date, "
+            + "reminder_lifecycle_status, reminder_generated_at, reminder_sent_at, created_at, updated_at) "
+            + "SELECT ref, company_number, due_date, reminder_lifecycle_status, reminder_generated_at, "
+            + "reminder_sent_at, created_at, updated_at FROM companies_house_data.reminders "
+            + "WHERE ref IN (:refs)", nativeQuery = true)
+    int copyFromLive(@Param("refs") Collection<String> refs);
+}
@@ -0,0 +1,13 @@
+package org.example.apidemo.repository;
+
+import java.time.YearMonth;
+
+public interface ReminderArchiveRepositoryCustom {
+    
+    /**
+     * Makes sure the archive has a partition for every month from {@code from} to
+     * {@code to}, inclusive, named {@code reminders_archive_yYYYYmMM}. Does nothing
+     * where the archive is not partitioned (H2).
+     */
+    void createMonthlyPartitions(YearMonth from, YearMonth to);
+}
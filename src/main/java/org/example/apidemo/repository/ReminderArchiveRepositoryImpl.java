@@ -0,0 +1,36 @@
+package org.example.apidemo.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+public class ReminderArchiveRepositoryImpl implements ReminderArchiveRepositoryCustom {
+    
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    
+    private final EntityManager entityManager;
+    
+    public ReminderArchiveRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+    
+    @Override
+    public void createMonthlyPartitions(YearMonth from, YearMonth to) {
+        if (entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof H2Dialect) {
+            return;
+        }
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            // The name and bounds come from the YearMonth, never from input
+            entityManager.createNativeQuery("CREATE TABLE IF NOT EXISTS companies_house_data.reminders_archive_"
+                    + month.format(PARTITION_SUFFIX) + " PARTITION OF companies_house_data.reminders_archive "
+                    + "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')")
+                    .executeUpdate();
+        }
+    }
+}
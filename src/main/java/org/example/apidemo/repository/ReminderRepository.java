@@ -1,15 +1,104 @@
 package org.example.apidemo.repository;
 
+import org.example.apidemo.dto.ReminderBacklog;
+import org.example.apidemo.dto.ReminderCount;
+import org.example.apidemo.dto.ReminderResponse;
 import org.example.apidemo.entity.Reminder;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface ReminderRepository extends JpaRepository<Reminder, String>, JpaSpecificationExecutor<Reminder> {
+public interface ReminderRepository extends JpaRepository<Reminder, String>, JpaSpecificationExecutor<Reminder>,
+        ReminderRepositoryCustom {
     Optional<Reminder> findByRef(String ref);
     boolean existsByRef(String ref);
+    
+    @Query("select new org.example.apidemo.dto.ReminderResponse(r.ref, r.companyNumber, r.dueDate, "
+            + "r.reminderLifecycleStatus, r.reminderGeneratedAt, r.reminderSentAt, r.createdAt, r.updatedAt) "
+            + "from Reminder r where r.ref = :ref")
+    Optional<ReminderResponse> findResponseByRef(@Param("ref") String ref);
+    
+    @Query("select r.ref from Reminder r where r.ref in :refs")
+    Set<String> findExistingRefs(@Param("refs") Collection<String> refs);
+    
+    @Modifying
+    @Query("delete from Reminder r where r.ref = :ref")
+    int bulkDeleteByRef(@Param("ref") String ref);
+    
+    @Query("select max(r.updatedAt) from Reminder r")
+    LocalDateTime findLastUpdatedAt();
+    
+    /**
+     * Locks up to {@code limit} POSTED reminders that are due, skipping rows another
+     * transaction (typically another instance's dispatcher) already holds. The locks
+     * last until the calling transaction ends. Native SQL uses the stored status codes
+     * (POSTED is 1, SENT is 2, see {@link ReminderLifecycleStatus}) as literals, which
+     * lets PostgreSQL match the partial index on active statuses.
+     */
+    @Query(value = "SELECT * FROM companies_house_data.reminders "
+            + "WHERE reminder_lifecycle_status = 1 AND due_date <= CURRENT_DATE "
+            + "ORDER BY due_date, ref LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Reminder> claimDue(@Param("limit") int limit);
+    
+    /**
+     * Locks up to {@code limit} DELIVERED (3) reminders due before {@code cutoff} for the
+     * archiver, oldest first, skipping rows locked elsewhere.
+     */
+    @Query(value = "SELECT ref FROM companies_house_data.reminders "
+            + "WHERE reminder_lifecycle_status = 3 AND due_date < :cutoff "
+            + "ORDER BY due_date, ref LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<String> claimArchivable(@Param("cutoff") LocalDate cutoff, @Param("limit") int limit);
+    
+    @Query("select min(r.dueDate) from Reminder r "
+            + "where r.reminderLifecycleStatus = org.example.apidemo.entity.ReminderLifecycleStatus.DELIVERED "
+            + "and r.dueDate < :cutoff")
+    LocalDate findOldestArchivableDueDate(@Param("cutoff") LocalDate cutoff);
+    
+    @Modifying
+    @Query("delete from Reminder r where r.ref in :refs")
+    int bulkDeleteByRefIn(@Param("refs") Collection<String> refs);
+    
+    @Modifying
+    @Query(value = "UPDATE companies_house_data.reminders SET reminder_lifecycle_status = 2, "
+            + "reminder_sent_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE ref IN (:refs) AND reminder_lifecycle_status = 1", nativeQuery = true)
+    int markSent(@Param("refs") Collection<String> refs);
+    
+    @Query("select new org.example.apidemo.dto.ReminderBacklog(count(r), min(r.dueDate)) from Reminder r "
+            + "where r.reminderLifecycleStatus = org.example.apidemo.entity.ReminderLifecycleStatus.POSTED "
+            + "and r.dueDate <= current_date")
+    ReminderBacklog findDispatchBacklog();
+    
+    @Query("select new org.example.apidemo.dto.ReminderCount(r.reminderLifecycleStatus, count(r)) "
+            + "from Reminder r group by r.reminderLifecycleStatus")
+    List<ReminderCount> countByStatus();
+    
+    @Query("select new org.example.apidemo.dto.ReminderCount(r.companyNumber, count(r)) from Reminder r "
+            + "where r.reminderLifecycleStatus = org.example.apidemo.entity.ReminderLifecycleStatus.POSTED "
+            + "group by r.companyNumber order by count(r) desc, r.companyNumber")
+    List<ReminderCount> countOpenByCompany(Limit limit);
+    
+    @Query("select count(r) from Reminder r "
+            + "where r.reminderLifecycleStatus = org.example.apidemo.entity.ReminderLifecycleStatus.POSTED "
+            + "and r.dueDate < current_date")
+    long countOverdue();
+    
+    /** Open (POSTED) reminders per due date, as {@code [LocalDate, Long]} rows. */
+    @Query("select r.dueDate, count(r) from Reminder r "
+            + "where r.reminderLifecycleStatus = org.example.apidemo.entity.ReminderLifecycleStatus.POSTED "
+            + "group by r.dueDate")
+    List<Object[]> countOpenByDueDate();
 }
-
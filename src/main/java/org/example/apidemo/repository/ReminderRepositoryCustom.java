@@ -0,0 +1,68 @@
+package org.example.apidemo.repository;
+
+import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.entity.Reminder;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ReminderRepositoryCustom {
+    
+    /**
+     * Reads one window of the reminders matching {@code spec} directly into
+     * {@link ReminderResponse} rows, without hydrating entities or running a count query.
+     */
+    List<ReminderResponse> findResponses(Specification<Reminder> spec, Sort sort, long offset, int limit);
+    
+    /**
+     * Streams the reminders matching {@code spec} as {@link ReminderResponse} rows through a
+     * cursor fetched {@code fetchSize} rows at a time. Must be consumed and closed inside a
+     * transaction, otherwise the driver buffers the whole result set.
+     */
+    Stream<ReminderResponse> streamResponses(Specification<Reminder> spec, int fetchSize);
+    
+    /**
+     * Latest {@code updated_at} of the reminders matching {@code spec}, without reading
+     * the rows; null when none match.
+     */
+    LocalDateTime findLastModified(Specification<Reminder> spec);
+    
+    /**
+     * Applies a partial update in one statement: every null argument leaves its column
+     * unchanged, and a non-null {@code newRef} renames the primary key in place.
+     * When {@code expectedUpdatedAt} is non-null the row is only updated if its
+     * {@code updated_at} still equals it. Returns the row as stored after the update,
+     * or empty if {@code ref} does not exist or the expected version did not match.
+     */
+    Optional<Reminder> patch(String ref, String newRef, String companyNumber, LocalDate dueDate,
+                             ReminderLifecycleStatus status, LocalDateTime expectedUpdatedAt);
+    
+    /**
+     * Replaces the reminder's fields in one statement. {@code newRef} and {@code status}
+     * keep their current values when null, and {@code expectedUpdatedAt} is checked as for
+     * {@link #patch}. Returns the row as stored after the update, or empty if {@code ref}
+     * does not exist or the expected version did not match.
+     */
+    Optional<Reminder> replace(String ref, String newRef, String companyNumber, LocalDate dueDate,
+                               ReminderLifecycleStatus status, LocalDateTime expectedUpdatedAt);
+    
+    /**
+     * Reads the refs of up to {@code limit} reminders matching {@code spec} that sort after
+     * {@code afterRef} (from the start when null), in ref order.
+     */
+    List<String> findRefs(Specification<Reminder> spec, String afterRef, int limit);
+    
+    /**
+     * Moves the reminders among {@code refs} that still match {@code spec} to {@code status}
+     * in one UPDATE, bumping {@code updated_at} and, for SENT, setting {@code reminder_sent_at}.
+     * Returns the number of rows updated.
+     */
+    int updateStatus(Specification<Reminder> spec, Collection<String> refs, ReminderLifecycleStatus status);
+}
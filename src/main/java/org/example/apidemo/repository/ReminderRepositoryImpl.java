@@ -0,0 +1,193 @@
+package org.example.apidemo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.entity.Reminder;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class ReminderRepositoryImpl implements ReminderRepositoryCustom {
+    
+    /** Optimistic concurrency check, a no-op when no expected version is bound. */
+    private static final String EXPECTED_VERSION = " AND (CAST(:expectedUpdatedAt AS TIMESTAMP) IS NULL "
+            + "OR updated_at = CAST(:expectedUpdatedAt AS TIMESTAMP))";
+    
+    private static final String PATCH_SQL = "UPDATE companies_house_data.reminders SET "
+            + "ref = COALESCE(CAST(:newRef AS VARCHAR), ref), "
+            + "company_number = COALESCE(CAST(:companyNumber AS VARCHAR), company_number), "
+            + "due_date = COALESCE(CAST(:dueDate AS DATE), due_date), "
+            + "reminder_lifecycle_status = COALESCE(CAST(:status AS SMALLINT), reminder_lifecycle_status), "
+            + "updated_at = CURRENT_TIMESTAMP "
+            + "WHERE ref = :ref" + EXPECTED_VERSION;
+    
+    private static final String REPLACE_SQL = "UPDATE companies_house_data.reminders SET "
+            + "ref = COALESCE(CAST(:newRef AS VARCHAR), ref), "
+            + "company_number = :companyNumber, "
+            + "due_date = :dueDate, "
+            + "reminder_lifecycle_status = COALESCE(CAST(:status AS SMALLINT), reminder_lifecycle_status), "
+            + "updated_at = CURRENT_TIMESTAMP "
+            + "WHERE ref = :ref" + EXPECTED_VERSION;
+    
+    private final EntityManager entityManager;
+    
+    public ReminderRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+    
+    @Override
+    public List<ReminderResponse> findResponses(Specification<Reminder> spec, Sort sort, long offset, int limit) {
+        return responseQuery(spec, sort)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    
+    @Override
+    public Stream<ReminderResponse> streamResponses(Specification<Reminder> spec, int fetchSize) {
+        return responseQuery(spec, Sort.unsorted())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+    
+    @Override
+    public LocalDateTime findLastModified(Specification<Reminder> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LocalDateTime> query = cb.createQuery(LocalDateTime.class);
+        Root<Reminder> root = query.from(Reminder.class);
+        query.select(cb.greatest(root.<LocalDateTime>get("updatedAt")));
+        
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+    
+    @Override
+    public Optional<Reminder> patch(String ref, String newRef, String companyNumber, LocalDate dueDate,
+                                    ReminderLifecycleStatus status, LocalDateTime expectedUpdatedAt) {
+        return updateReturning(PATCH_SQL, ref, newRef, companyNumber, dueDate, status, expectedUpdatedAt);
+    }
+    
+    @Override
+    public Optional<Reminder> replace(String ref, String newRef, String companyNumber, LocalDate dueDate,
+                                      ReminderLifecycleStatus status, LocalDateTime expectedUpdatedAt) {
+        return updateReturning(REPLACE_SQL, ref, newRef, companyNumber, dueDate, status, expectedUpdatedAt);
+    }
+    
+    @Override
+    public List<String> findRefs(Specification<Reminder> spec, String afterRef, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<Reminder> root = query.from(Reminder.class);
+        query.select(root.get("ref"));
+        
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (afterRef != null) {
+            Predicate after = cb.greaterThan(root.get("ref"), afterRef);
+            predicate = predicate == null ? after : cb.and(predicate, after);
+        }
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("ref")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+    
+    /**
+     * Spring Data has no update counterpart of {@link Specification}, so {@code spec} is
+     * applied with a null query. The filters passed here only use the root and builder.
+     */
+    @Override
+    public int updateStatus(Specification<Reminder> spec, Collection<String> refs, ReminderLifecycleStatus status) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Reminder> update = cb.createCriteriaUpdate(Reminder.class);
+        Root<Reminder> root = update.from(Reminder.class);
+        Expression<LocalDateTime> now = cb.localDateTime();
+        update.set(root.get("reminderLifecycleStatus"), status);
+        update.set(root.<LocalDateTime>get("updatedAt"), now);
+        if (status == ReminderLifecycleStatus.SENT) {
+            update.set(root.<LocalDateTime>get("reminderSentAt"), now);
+        }
+        
+        Predicate predicate = root.get("ref").in(refs);
+        Predicate filter = spec.toPredicate(root, null, cb);
+        update.where(filter == null ? predicate : cb.and(predicate, filter));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Optional<Reminder> updateReturning(String updateSql, String ref, String newRef, String companyNumber,
+                                               LocalDate dueDate, ReminderLifecycleStatus status,
+                                               LocalDateTime expectedUpdatedAt) {
+        NativeQuery<Reminder> query = entityManager.createNativeQuery(returning(updateSql), Reminder.class)
+                .unwrap(NativeQuery.class);
+        query.setParameter("ref", ref, String.class);
+        query.setParameter("newRef", newRef, String.class);
+        query.setParameter("companyNumber", companyNumber, String.class);
+        query.setParameter("dueDate", dueDate, LocalDate.class);
+        query.setParameter("status", status == null ? null : status.getCode(), Short.class);
+        query.setParameter("expectedUpdatedAt", expectedUpdatedAt, LocalDateTime.class);
+        return query.getResultList().stream().findFirst();
+    }
+    
+    /**
+     * Wraps an UPDATE so it hands back the updated row in the same round trip:
+     * {@code RETURNING *} on PostgreSQL, a data change delta table on the embedded H2.
+     */
+    private String returning(String updateSql) {
+        Dialect dialect = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+        if (dialect instanceof H2Dialect) {
+            return "SELECT * FROM FINAL TABLE (" + updateSql + ")";
+        }
+        return updateSql + " RETURNING *";
+    }
+    
+    private TypedQuery<ReminderResponse> responseQuery(Specification<Reminder> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReminderResponse> query = cb.createQuery(ReminderResponse.class);
+        Root<Reminder> root = query.from(Reminder.class);
+        query.select(cb.construct(ReminderResponse.class,
+                root.get("ref"),
+                root.get("companyNumber"),
+                root.get("dueDate"),
+                root.get("reminderLifecycleStatus"),
+                root.get("reminderGeneratedAt"),
+                root.get("reminderSentAt"),
+                root.get("createdAt"),
+                root.get("updatedAt")));
+        
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.apidemo.repository;
+
+import org.example.apidemo.entity.ReminderTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReminderTombstoneRepository extends JpaRepository<ReminderTombstone, ReminderTombstone.Key> {
+    
+    /** Stamped by the database, on the same clock as {@code reminders.updated_at}. */
+    @Modifying
+    @Query(value = "INSERT INTO companies_house_data.reminder_tombstones (deleted_at, ref) "
+            + "VALUES (CURRENT_TIMESTAMP, :ref)", nativeQuery = true)
+    int insert(@Param("ref") String ref);
+    
+    /** Tombstones after {@code (deletedAt, ref)} and before {@code horizon}, in feed order. */
+    @Query("select t from ReminderTombstone t "
+            + "where (t.deletedAt > :deletedAt or (t.deletedAt = :deletedAt and t.ref > :ref)) "
+            + "and t.deletedAt < :horizon order by t.deletedAt, t.ref")
+    List<ReminderTombstone> findAfter(@Param("deletedAt") LocalDateTime deletedAt, @Param("ref") String ref,
+                                      @Param("horizon") LocalDateTime horizon, Limit limit);
+    
+    @Query("select t from ReminderTombstone t where t.deletedAt < :horizon order by t.deletedAt, t.ref")
+    List<ReminderTombstone> findBefore(@Param("horizon") LocalDateTime horizon, Limit limit);
+    
+    @Query("select max(t.deletedAt) from ReminderTombstone t")
+    LocalDateTime findLastDeletedAt();
+    
+    @Modifying
+    @Query("delete from ReminderTombstone t where t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+    
+    /** The database's clock, which stamps every change; the feed's horizon is taken from it. */
+    @Query(value = "SELECT LOCALTIMESTAMP", nativeQuery = true)
+    LocalDateTime databaseTime();
+}
@@ -0,0 +1,28 @@
+package org.example.apidemo.service;
+
+import lombok.Getter;
+import org.example.apidemo.exception.UnsupportedExportFormatException;
+
+@Getter
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv"),
+    CBOR("application/cbor-seq", "cbor");
+    
+    private final String contentType;
+    private final String fileExtension;
+    
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+    
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new UnsupportedExportFormatException(value);
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.apidemo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.apidemo.dto.ReminderResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Stand-in sender that only logs each reminder and reports it as delivered.
+ */
+@Slf4j
+public class LoggingReminderSender implements ReminderSender {
+    
+    @Override
+    public Collection<String> send(List<ReminderResponse> reminders) {
+        reminders.forEach(reminder -> log.info("Sending reminder {} for company {} due {}",
+                reminder.getRef(), reminder.getCompanyNumber(), reminder.getDueDate()));
+        return reminders.stream().map(ReminderResponse::getRef).toList();
+    }
+}
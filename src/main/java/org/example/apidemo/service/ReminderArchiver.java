@@ -0,0 +1,142 @@
+package org.example.apidemo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apidemo.repository.ReminderArchiveRepository;
+import org.example.apidemo.repository.ReminderRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Moves DELIVERED reminders whose due date is older than {@code reminders.archive.retention}
+ * from the live table to {@code reminders_archive}, so the live table and its indexes
+ * only grow with current reminders while history accumulates in the archive.
+ * <p>
+ * Each run first makes sure the archive has monthly partitions from the oldest month
+ * about to be archived up to {@code reminders.archive.premake-months} ahead, then
+ * moves batches of {@code reminders.archive.batch-size}: claim with
+ * {@code FOR UPDATE SKIP LOCKED}, copy, delete, in one short transaction each, so
+ * instances can run it side by side and no batch holds locks for long.
+ * <p>
+ * Archived reminders are still found by {@code GET /api/reminders/{ref}} but drop out
+ * of listings, exports and statistics. They are not reported by the change feed, as
+ * they have not changed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reminders.archive.enabled", havingValue = "true")
+public class ReminderArchiver {
+    
+    private final ReminderRepository reminderRepository;
+    
+    private final ReminderArchiveRepository archiveRepository;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    /** Present only with {@code reminders.stats.incremental}; rebuilt after rows are archived. */
+    private final ReminderStatsCounters statsCounters;
+    
+    private final Duration retention;
+    
+    private final int batchSize;
+    
+    private final int premakeMonths;
+    
+    private final Counter archivedCounter;
+    
+    private final Counter failedBatches;
+    
+    public ReminderArchiver(ReminderRepository reminderRepository,
+                            ReminderArchiveRepository archiveRepository,
+                            PlatformTransactionManager transactionManager,
+                            ObjectProvider<ReminderStatsCounters> statsCounters,
+                            MeterRegistry meterRegistry,
+                            @Value("${reminders.archive.retention:P365D}") Duration retention,
+                            @Value("${reminders.archive.batch-size:1000}") int batchSize,
+                            @Value("${reminders.archive.premake-months:3}") int premakeMonths) {
+        this.reminderRepository = reminderRepository;
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.statsCounters = statsCounters.getIfAvailable();
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.premakeMonths = premakeMonths;
+        
+        this.archivedCounter = Counter.builder("reminders.archive.archived")
+                .description("DELIVERED reminders moved to the archive")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("reminders.archive.failures")
+                .description("Archive batches rolled back")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${reminders.archive.interval:PT1H}",
+            initialDelayString = "${reminders.archive.initial-delay:PT5M}")
+    public void archiveDelivered() {
+        LocalDate cutoff = LocalDate.now().minusDays(retention.toDays());
+        try {
+            preparePartitions(cutoff);
+        } catch (RuntimeException e) {
+            log.warn("Could not create archive partitions; archiving skipped until the next run", e);
+            return;
+        }
+        
+        long archived = 0;
+        int moved;
+        do {
+            moved = archiveBatch(cutoff);
+            archived += moved;
+        } while (moved == batchSize && !Thread.currentThread().isInterrupted());
+        
+        if (archived > 0) {
+            log.info("Archived {} DELIVERED reminders due before {}", archived, cutoff);
+            if (statsCounters != null) {
+                statsCounters.resync();
+            }
+        }
+    }
+    
+    /**
+     * Moves one batch in its own transaction. An earlier archived copy of the same ref
+     * (a ref reused after archiving) is replaced, so the archive holds one row per ref.
+     *
+     * @return number of reminders archived; 0 when none were left or the batch failed
+     */
+    public int archiveBatch(LocalDate cutoff) {
+        try {
+            List<String> refs = transactionTemplate.execute(status -> {
+                List<String> claimed = reminderRepository.claimArchivable(cutoff, batchSize);
+                if (!claimed.isEmpty()) {
+                    archiveRepository.bulkDeleteByRefIn(claimed);
+                    archiveRepository.copyFromLive(claimed);
+                    reminderRepository.bulkDeleteByRefIn(claimed);
+                }
+                return claimed;
+            });
+            archivedCounter.increment(refs.size());
+            return refs.size();
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            log.warn("Reminder archive batch rolled back", e);
+            return 0;
+        }
+    }
+    
+    private void preparePartitions(LocalDate cutoff) {
+        LocalDate oldest = reminderRepository.findOldestArchivableDueDate(cutoff);
+        YearMonth to = YearMonth.now().plusMonths(premakeMonths);
+        YearMonth from = oldest == null ? YearMonth.from(cutoff) : YearMonth.from(oldest);
+        transactionTemplate.executeWithoutResult(status -> archiveRepository.createMonthlyPartitions(from, to));
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.apidemo.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apidemo.dto.ReminderChanges;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Long polling for {@code GET /api/reminders/changes}. A request that finds no changes
+ * is parked, without a thread, until a change it has not seen settles or its wait runs
+ * out (answered with an empty page and the same position).
+ * <p>
+ * Parked requests are rechecked by one thread: {@code reminders.changes.settle-time}
+ * after this instance commits a change, and every {@code reminders.changes.poll-interval}
+ * for changes made by other instances. A recheck costs two index lookups for the latest
+ * change time; only requests whose position is behind it run their feed query. The same
+ * thread purges expired tombstones every {@code reminders.changes.purge-interval}.
+ */
+@Slf4j
+@Component
+public class ReminderChangeFeed implements SmartLifecycle {
+    
+    private final ReminderService reminderService;
+    
+    private final Duration settleTime;
+    
+    private final Duration pollInterval;
+    
+    private final Duration purgeInterval;
+    
+    private final Duration maxWait;
+    
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    
+    /** Set while a recheck triggered by a local commit is scheduled, so a burst of commits schedules one. */
+    private final AtomicBoolean wakeScheduled = new AtomicBoolean();
+    
+    private volatile boolean running;
+    
+    private ScheduledExecutorService scheduler;
+    
+    public ReminderChangeFeed(ReminderService reminderService,
+                              MeterRegistry meterRegistry,
+                              @Value("${reminders.changes.settle-time:PT2S}") Duration settleTime,
+                              @Value("${reminders.changes.poll-interval:PT1S}") Duration pollInterval,
+                              @Value("${reminders.changes.purge-interval:PT1H}") Duration purgeInterval,
+                              @Value("${reminders.changes.max-wait:PT30S}") Duration maxWait) {
+        this.reminderService = reminderService;
+        this.settleTime = settleTime;
+        this.pollInterval = pollInterval;
+        this.purgeInterval = purgeInterval;
+        this.maxWait = maxWait;
+        
+        Gauge.builder("reminders.changes.waiting", waiters, Set::size)
+                .description("Change feed requests waiting for a change")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Answers at once when there are changes after {@code since} or {@code wait} is zero;
+     * otherwise parks the request for up to {@code wait} (capped at {@code reminders.changes.max-wait}).
+     */
+    public DeferredResult<ReminderChanges> poll(ReminderChangeToken since, int limit, Duration wait) {
+        ReminderChanges changes = reminderService.getChangesSince(since, limit);
+        Duration timeout = wait.compareTo(maxWait) > 0 ? maxWait : wait;
+        if (!changes.getChanges().isEmpty() || timeout.isZero() || timeout.isNegative() || !running) {
+            DeferredResult<ReminderChanges> result = new DeferredResult<>();
+            result.setResult(changes);
+            return result;
+        }
+        
+        DeferredResult<ReminderChanges> result = new DeferredResult<>(timeout.toMillis(), changes);
+        Waiter waiter = new Waiter(ReminderChangeToken.decode(changes.getNextToken()), limit, result);
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        return result;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReminderChanged(ReminderChangedEvent event) {
+        if (running && !waiters.isEmpty() && wakeScheduled.compareAndSet(false, true)) {
+            // Just past the settle time, when the change becomes visible to the feed
+            scheduler.schedule(() -> {
+                wakeScheduled.set(false);
+                recheck();
+            }, settleTime.toMillis() + 10, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("change-feed-"));
+        scheduler.scheduleWithFixedDelay(this::recheck, pollInterval.toMillis(), pollInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::purge, purgeInterval.toMillis(), purgeInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        running = true;
+    }
+    
+    /** Runs before the web server stops, so parked requests are answered instead of holding up shutdown. */
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+        for (Waiter waiter : List.copyOf(waiters)) {
+            waiter.result.setResult(new ReminderChanges(List.of(), waiter.since.encode(), false));
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    private void recheck() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        try {
+            LocalDateTime lastChangedAt = reminderService.getLastChangedAt();
+            if (lastChangedAt == null) {
+                return;
+            }
+            for (Waiter waiter : List.copyOf(waiters)) {
+                if (waiter.result.isSetOrExpired() || lastChangedAt.isBefore(waiter.since.getChangedAt())) {
+                    continue;
+                }
+                ReminderChanges changes = reminderService.getChangesSince(waiter.since, waiter.limit);
+                if (!changes.getChanges().isEmpty()) {
+                    waiter.result.setResult(changes);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Change feed recheck failed, retrying at the next interval", e);
+        }
+    }
+    
+    private void purge() {
+        try {
+            int purged = reminderService.purgeTombstones();
+            if (purged > 0) {
+                log.info("Purged {} expired reminder tombstones", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Tombstone purge failed, retrying at the next interval", e);
+        }
+    }
+    
+    private record Waiter(ReminderChangeToken since, int limit, DeferredResult<ReminderChanges> result) {
+    }
+}
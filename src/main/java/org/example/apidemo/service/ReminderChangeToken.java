@@ -0,0 +1,54 @@
+package org.example.apidemo.service;
+
+import lombok.Getter;
+import org.example.apidemo.dto.ReminderChange;
+import org.example.apidemo.exception.InvalidChangeTokenException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque change feed position: the time and ref of the last change delivered. The feed
+ * continues strictly after it in (time, ref) order, like {@link ReminderCursor}.
+ */
+@Getter
+public class ReminderChangeToken {
+
+    private static final String SEPARATOR = "\n";
+
+    private final LocalDateTime changedAt;
+    private final String ref;
+
+    private ReminderChangeToken(LocalDateTime changedAt, String ref) {
+        this.changedAt = changedAt;
+        this.ref = ref;
+    }
+
+    public static ReminderChangeToken after(ReminderChange change) {
+        return new ReminderChangeToken(change.getChangedAt(), change.getRef());
+    }
+
+    /** The position before every change made at {@code time} or later. */
+    public static ReminderChangeToken at(LocalDateTime time) {
+        return new ReminderChangeToken(time, "");
+    }
+
+    public static ReminderChangeToken decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 2);
+            if (parts.length != 2) {
+                throw new InvalidChangeTokenException("Malformed change token: " + token);
+            }
+            return new ReminderChangeToken(LocalDateTime.parse(parts[0]), parts[1]);
+        } catch (RuntimeException e) {
+            throw new InvalidChangeTokenException("Malformed change token: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = changedAt + SEPARATOR + ref;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.apidemo.service;
+
+import org.example.apidemo.dto.ReminderResponse;
+
+/**
+ * Published inside the writing transaction whenever a reminder is created, updated,
+ * sent or deleted. {@code before} is null for creates, and for updates and deletes it
+ * is only captured while something needs it (incremental stats). {@code after} is null
+ * for deletes. {@code ref} is the reference the change was addressed to, which differs
+ * from {@code after.getRef()} when the reminder was renamed.
+ */
+public record ReminderChangedEvent(String ref, ReminderResponse before, ReminderResponse after) {
+}
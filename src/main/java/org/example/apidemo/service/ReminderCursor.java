@@ -0,0 +1,84 @@
+package org.example.apidemo.service;
+
+import lombok.Getter;
+import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque keyset pagination cursor. Encodes the sort field, direction, the sort
+ * value of the last row returned and that row's ref (the tiebreaker), so the
+ * next page can be fetched with a seek predicate instead of an OFFSET.
+ */
+@Getter
+public class ReminderCursor {
+
+    private static final String SEPARATOR = "\n";
+
+    /** One entry per field {@link ReminderSortPlanner} allows sorting by; no other order is ever paged. */
+    private static final Map<String, SeekField> SEEKABLE_FIELDS = ReminderSortPlanner.sortFields().stream()
+            .collect(Collectors.toUnmodifiableMap(Function.identity(), ReminderCursor::seekField));
+
+    private final String sortBy;
+    private final Sort.Direction direction;
+    private final Comparable<?> value;
+    private final String ref;
+
+    private ReminderCursor(String sortBy, Sort.Direction direction, Comparable<?> value, String ref) {
+        this.sortBy = sortBy;
+        this.direction = direction;
+        this.value = value;
+        this.ref = ref;
+    }
+
+    public static boolean isSeekable(String sortBy) {
+        return SEEKABLE_FIELDS.containsKey(sortBy);
+    }
+
+    /**
+     * Builds the cursor pointing just past the given row.
+     */
+    public static ReminderCursor after(ReminderResponse last, String sortBy, Sort.Direction direction) {
+        Comparable<?> value = SEEKABLE_FIELDS.get(sortBy).extractor().apply(last);
+        return new ReminderCursor(sortBy, direction, value, last.getRef());
+    }
+
+    public static ReminderCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 4);
+            if (parts.length != 4 || !isSeekable(parts[0])) {
+                throw new InvalidCursorException("Malformed cursor: " + token);
+            }
+            Comparable<?> value = SEEKABLE_FIELDS.get(parts[0]).parser().apply(parts[2]);
+            return new ReminderCursor(parts[0], Sort.Direction.fromString(parts[1]), value, parts[3]);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Malformed cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = sortBy + SEPARATOR + direction.name() + SEPARATOR + value + SEPARATOR + ref;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SeekField seekField(String sortBy) {
+        return switch (sortBy) {
+            case "createdAt" -> new SeekField(LocalDateTime::parse, ReminderResponse::getCreatedAt);
+            case "dueDate" -> new SeekField(LocalDate::parse, ReminderResponse::getDueDate);
+            case "ref" -> new SeekField(value -> value, ReminderResponse::getRef);
+            default -> throw new IllegalStateException("No cursor encoding for sort field " + sortBy);
+        };
+    }
+
+    private record SeekField(Function<String, Comparable<?>> parser, Function<ReminderResponse, Comparable<?>> extractor) {
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.apidemo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apidemo.config.CacheConfig;
+import org.example.apidemo.dto.ReminderBacklog;
+import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.example.apidemo.entity.Reminder;
+import org.example.apidemo.repository.ReminderRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Sends reminders once they fall due and marks them SENT.
+ * <p>
+ * Every run starts {@code reminders.dispatch.workers} workers. Each worker repeatedly
+ * claims up to {@code reminders.dispatch.batch-size} due POSTED reminders with
+ * {@code FOR UPDATE SKIP LOCKED}, hands them to the {@link ReminderSender} and marks the
+ * delivered ones SENT in one UPDATE, all in a single transaction. Rows locked by
+ * another worker or instance are skipped rather than waited on, so any number of
+ * instances can dispatch concurrently without sending a reminder twice.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reminders.dispatch.enabled", havingValue = "true")
+public class ReminderDispatcher {
+    
+    private final ReminderRepository reminderRepository;
+    
+    private final ReminderSender sender;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    private final Cache reminderCache;
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private final int batchSize;
+    
+    private final int workers;
+    
+    private final ExecutorService executor;
+    
+    private final Counter sentCounter;
+    
+    private final Counter failedBatches;
+    
+    private final Timer batchTimer;
+    
+    private final AtomicLong backlog = new AtomicLong();
+    
+    private final AtomicLong lagSeconds = new AtomicLong();
+    
+    public ReminderDispatcher(ReminderRepository reminderRepository,
+                              ObjectProvider<ReminderSender> sender,
+                              PlatformTransactionManager transactionManager,
+                              CacheManager cacheManager,
+                              MeterRegistry meterRegistry,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${reminders.dispatch.batch-size:100}") int batchSize,
+                              @Value("${reminders.dispatch.workers:2}") int workers) {
+        this.reminderRepository = reminderRepository;
+        this.sender = sender.getIfAvailable(LoggingReminderSender::new);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reminderCache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.REMINDERS_BY_REF));
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("reminder-dispatch-"));
+        
+        this.sentCounter = Counter.builder("reminders.dispatch.sent")
+                .description("Reminders delivered and marked SENT")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("reminders.dispatch.failures")
+                .description("Batches rolled back because claiming, sending or marking failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("reminders.dispatch.batch")
+                .description("Time to claim, send and mark one batch")
+                .register(meterRegistry);
+        Gauge.builder("reminders.dispatch.backlog", backlog, AtomicLong::get)
+                .description("Due reminders still POSTED after the last dispatch run")
+                .register(meterRegistry);
+        TimeGauge.builder("reminders.dispatch.lag", lagSeconds, TimeUnit.SECONDS, AtomicLong::get)
+                .description("Age of the oldest due reminder still POSTED after the last dispatch run")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${reminders.dispatch.interval:PT30S}",
+            initialDelayString = "${reminders.dispatch.initial-delay:PT10S}")
+    public void dispatchDue() {
+        List<Future<?>> runs = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            runs.add(executor.submit(this::drain));
+        }
+        try {
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Reminder dispatch worker failed", e.getCause());
+        }
+        refreshBacklog();
+    }
+    
+    /**
+     * Claims, sends and marks one batch in its own transaction.
+     *
+     * @return number of reminders marked SENT; 0 when nothing was due or the batch failed
+     */
+    public int dispatchBatch() {
+        List<String> sent;
+        try {
+            sent = batchTimer.record(() -> transactionTemplate.execute(status -> claimAndSend()));
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            log.warn("Reminder dispatch batch rolled back", e);
+            return 0;
+        }
+        // Only after commit, so a concurrent read cannot re-cache the POSTED version
+        sent.forEach(reminderCache::evict);
+        sentCounter.increment(sent.size());
+        return sent.size();
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Keeps claiming while batches come back full and fully delivered; anything less
+     * means the backlog is drained or the sender is struggling, so wait for the next run.
+     */
+    private void drain() {
+        while (dispatchBatch() == batchSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+    
+    private List<String> claimAndSend() {
+        List<Reminder> claimed = reminderRepository.claimDue(batchSize);
+        if (claimed.isEmpty()) {
+            return List.of();
+        }
+        
+        List<ReminderResponse> batch = claimed.stream().map(ReminderService::mapToResponse).toList();
+        Set<String> claimedRefs = claimed.stream().map(Reminder::getRef).collect(Collectors.toSet());
+        List<String> sent = sender.send(batch).stream()
+                .filter(claimedRefs::contains)
+                .distinct()
+                .toList();
+        if (!sent.isEmpty()) {
+            reminderRepository.markSent(sent);
+            publishSent(batch, Set.copyOf(sent));
+        }
+        return sent;
+    }
+    
+    private void publishSent(List<ReminderResponse> batch, Set<String> sent) {
+        LocalDateTime now = LocalDateTime.now();
+        for (ReminderResponse before : batch) {
+            if (sent.contains(before.getRef())) {
+                ReminderResponse after = new ReminderResponse(before.getRef(), before.getCompanyNumber(),
+                        before.getDueDate(), ReminderLifecycleStatus.SENT, before.getReminderGeneratedAt(), now, before.getCreatedAt(), now);
+                eventPublisher.publishEvent(new ReminderChangedEvent(before.getRef(), before, after));
+            }
+        }
+    }
+    
+    private void refreshBacklog() {
+        try {
+            ReminderBacklog current = reminderRepository.findDispatchBacklog();
+            backlog.set(current.getCount());
+            lagSeconds.set(current.getOldestDueDate() == null ? 0
+                    : Duration.between(current.getOldestDueDate().atStartOfDay(), LocalDateTime.now()).toSeconds());
+        } catch (RuntimeException e) {
+            log.warn("Could not read the reminder dispatch backlog", e);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package org.example.apidemo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apidemo.dto.ReminderBatchResult;
+import org.example.apidemo.dto.ReminderRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for {@code POST /api/reminders} ({@code reminders.ingest.async}).
+ * <p>
+ * Accepted requests wait in a bounded queue and are written by a pool of
+ * {@code reminders.ingest.writers} threads, each draining up to
+ * {@code reminders.ingest.batch-size} requests at a time through
+ * {@link ReminderService#createReminders}, so a burst costs a few batched transactions
+ * instead of one connection per request. When the queue is full new requests are
+ * refused rather than buffered. On shutdown, which runs after the web server has
+ * stopped taking requests, the writers drain whatever is left before the pool closes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "reminders.ingest.async", havingValue = "true")
+public class ReminderIngestQueue implements SmartLifecycle {
+    
+    public enum Admission {
+        ACCEPTED,
+        ALREADY_QUEUED,
+        QUEUE_FULL,
+        SHUTTING_DOWN
+    }
+    
+    /** Stops after the web server (which stops at {@code DEFAULT_PHASE - 2048}) so no request can race the drain. */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    
+    private final ReminderService reminderService;
+    
+    private final BlockingQueue<ReminderRequest> queue;
+    
+    /** Refs accepted but not written yet, so a repeated ref is refused instead of racing its twin. */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    
+    /** Outcome of recent writes, for the status endpoint. */
+    private final Cache<String, ReminderBatchResult> outcomes;
+    
+    private final int writers;
+    
+    private final int batchSize;
+    
+    private final Duration shutdownTimeout;
+    
+    private final Counter rejected;
+    
+    private final Timer flushTimer;
+    
+    private final DistributionSummary batchSizes;
+    
+    private volatile boolean running;
+    
+    private ExecutorService executor;
+    
+    public ReminderIngestQueue(ReminderService reminderService,
+                               MeterRegistry meterRegistry,
+                               @Value("${reminders.ingest.queue-capacity:10000}") int capacity,
+                               @Value("${reminders.ingest.writers:2}") int writers,
+                               @Value("${reminders.ingest.batch-size:500}") int batchSize,
+                               @Value("${reminders.ingest.status-ttl:PT1H}") Duration statusTtl,
+                               @Value("${reminders.ingest.shutdown-timeout:PT30S}") Duration shutdownTimeout) {
+        this.reminderService = reminderService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.outcomes = Caffeine.newBuilder()
+                .maximumSize(capacity * 10L)
+                .expireAfterWrite(statusTtl)
+                .build();
+        this.writers = writers;
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+        
+        Gauge.builder("reminders.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Reminders accepted and waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("reminders.ingest.queue.remaining", queue, BlockingQueue::remainingCapacity)
+                .description("Free slots in the ingest queue")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("reminders.ingest.rejected")
+                .description("Create requests refused because the ingest queue was full or shutting down")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("reminders.ingest.flush")
+                .description("Time to write one drained batch")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("reminders.ingest.batch.size")
+                .description("Requests written per flush")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Queues a validated request for writing. Never blocks.
+     */
+    public Admission submit(ReminderRequest request) {
+        if (!running) {
+            rejected.increment();
+            return Admission.SHUTTING_DOWN;
+        }
+        if (!pending.add(request.getRef())) {
+            return Admission.ALREADY_QUEUED;
+        }
+        outcomes.invalidate(request.getRef());
+        if (!queue.offer(request)) {
+            pending.remove(request.getRef());
+            rejected.increment();
+            return Admission.QUEUE_FULL;
+        }
+        return Admission.ACCEPTED;
+    }
+    
+    /**
+     * @return QUEUED while the request waits, its outcome once written, or null if the ref
+     *         was never queued here or its outcome has expired
+     */
+    public ReminderBatchResult status(String ref) {
+        if (pending.contains(ref)) {
+            return new ReminderBatchResult(ref, ReminderBatchResult.Outcome.QUEUED, null);
+        }
+        return outcomes.getIfPresent(ref);
+    }
+    
+    @Override
+    public void start() {
+        executor = Executors.newFixedThreadPool(writers, new CustomizableThreadFactory("reminder-ingest-"));
+        running = true;
+        for (int i = 0; i < writers; i++) {
+            executor.submit(this::drain);
+        }
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Ingest queue not drained within {}; {} reminders were not written",
+                        shutdownTimeout, queue.size());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+    
+    /**
+     * Writer loop: block briefly for the first request, then take whatever else is
+     * already queued up to the batch size. Exits once stopped and the queue is empty.
+     */
+    private void drain() {
+        List<ReminderRequest> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ReminderRequest first = queue.poll(POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    private void flush(List<ReminderRequest> batch) {
+        batchSizes.record(batch.size());
+        try {
+            List<ReminderBatchResult> results = flushTimer.record(() -> reminderService.createReminders(batch));
+            results.forEach(result -> outcomes.put(result.getRef(), result));
+        } catch (RuntimeException e) {
+            log.error("Writing {} queued reminders failed", batch.size(), e);
+            batch.forEach(request -> outcomes.put(request.getRef(),
+                    new ReminderBatchResult(request.getRef(), ReminderBatchResult.Outcome.FAILED, e.getMessage())));
+        } finally {
+            batch.forEach(request -> pending.remove(request.getRef()));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.apidemo.service;
+
+import org.example.apidemo.dto.ReminderResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Delivers due reminders on behalf of {@link ReminderDispatcher}. Declare a bean of this
+ * type to replace the logging stub registered by default.
+ */
+public interface ReminderSender {
+    
+    /**
+     * Sends one claimed batch. Called inside the claiming transaction, so the rows stay
+     * locked against other dispatchers until this returns.
+     *
+     * @return refs of the reminders that were delivered; only these are marked SENT, the
+     *         rest stay POSTED and are claimed again on a later run
+     */
+    Collection<String> send(List<ReminderResponse> reminders);
+}
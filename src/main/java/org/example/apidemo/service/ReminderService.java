@@ -1,106 +1,688 @@
 package org.example.apidemo.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.example.apidemo.config.CacheConfig;
+import org.example.apidemo.dto.ReminderBatchResult;
+import org.example.apidemo.dto.ReminderChange;
+import org.example.apidemo.dto.ReminderChanges;
+import org.example.apidemo.dto.ReminderFilter;
 import org.example.apidemo.dto.ReminderRequest;
 import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.dto.ReminderSlice;
+import org.example.apidemo.dto.ReminderStats;
+import org.example.apidemo.dto.ReminderTransitionRequest;
 import org.example.apidemo.entity.Reminder;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.example.apidemo.entity.ReminderTombstone;
+import org.example.apidemo.exception.ChangeTokenExpiredException;
+import org.example.apidemo.exception.DuplicateReferenceException;
+import org.example.apidemo.exception.InvalidCursorException;
+import org.example.apidemo.exception.ReminderNotFoundException;
+import org.example.apidemo.exception.ReminderVersionMismatchException;
+import org.example.apidemo.exception.UnsupportedSortException;
+import org.example.apidemo.repository.ReminderArchiveRepository;
 import org.example.apidemo.repository.ReminderRepository;
-import org.springframework.data.domain.Page;
+import org.example.apidemo.repository.ReminderTombstoneRepository;
+import org.hibernate.JDBCException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
+@Timed(value = "reminders.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class ReminderService {
     
+    /** SQLSTATE for a unique constraint violation, shared by PostgreSQL and H2. */
+    private static final String UNIQUE_VIOLATION = "23505";
+    
+    private static final String CSV_HEADER = "ref,companyNumber,dueDate,reminderLifecycleStatus,"
+            + "reminderGeneratedAt,reminderSentAt,createdAt,updatedAt\n";
+    
     private final ReminderRepository reminderRepository;
     
-    public ReminderService(ReminderRepository reminderRepository) {
+    private final ReminderTombstoneRepository tombstoneRepository;
+    
+    private final EntityManager entityManager;
+    
+    private final ObjectMapper objectMapper;
+    
+    /** Same configuration as {@link #objectMapper}, writing CBOR. */
+    private final ObjectWriter cborWriter;
+    
+    private final int batchSize;
+    
+    private final int exportFetchSize;
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /** Present only with {@code reminders.stats.incremental}; updates then also capture the previous row. */
+    private final ReminderStatsCounters statsCounters;
+    
+    private final Duration changesSettleTime;
+    
+    private final Duration tombstoneRetention;
+    
+    private final ReminderArchiveRepository archiveRepository;
+    
+    /** Whether a miss on the live table also looks in the archive (see {@link ReminderArchiver}). */
+    private final boolean archiveEnabled;
+    
+    /** One transaction per chunk of a bulk status transition. */
+    private final TransactionTemplate transactionTemplate;
+    
+    private final int transitionChunkSize;
+    
+    public ReminderService(ReminderRepository reminderRepository,
+                           ReminderTombstoneRepository tombstoneRepository,
+                           EntityManager entityManager,
+                           ObjectMapper objectMapper,
+                           @Value("${reminders.batch-size:500}") int batchSize,
+                           @Value("${reminders.export.fetch-size:1000}") int exportFetchSize,
+                           ApplicationEventPublisher eventPublisher,
+                           ObjectProvider<ReminderStatsCounters> statsCounters,
+                           @Value("${reminders.changes.settle-time:PT2S}") Duration changesSettleTime,
+                           @Value("${reminders.changes.tombstone-retention:P7D}") Duration tombstoneRetention,
+                           ReminderArchiveRepository archiveRepository,
+                           @Value("${reminders.archive.enabled:false}") boolean archiveEnabled,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${reminders.transitions.chunk-size:1000}") int transitionChunkSize) {
         this.reminderRepository = reminderRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.cborWriter = objectMapper.copyWith(new CBORFactory()).writerFor(ReminderResponse.class);
+        this.batchSize = batchSize;
+        this.exportFetchSize = exportFetchSize;
+        this.eventPublisher = eventPublisher;
+        this.statsCounters = statsCounters.getIfAvailable();
+        this.changesSettleTime = changesSettleTime;
+        this.tombstoneRetention = tombstoneRetention;
+        this.archiveRepository = archiveRepository;
+        this.archiveEnabled = archiveEnabled;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transitionChunkSize = transitionChunkSize;
     }
     
+    @Cacheable(cacheNames = CacheConfig.REMINDERS_BY_REF, key = "#ref")
+    @Transactional(readOnly = true)
     public ReminderResponse getByReferenceNumber(String ref) {
-        Reminder reminder = reminderRepository.findByRef(ref)
-                .orElseThrow(() -> new RuntimeException("Reminder not found with reference number: " + ref));
-        return mapToResponse(reminder);
+        return reminderRepository.findResponseByRef(ref)
+                .or(() -> archiveEnabled ? archiveRepository.findResponseByRef(ref) : Optional.empty())
+                .orElseThrow(() -> new ReminderNotFoundException(ref));
     }
     
-    public List<ReminderResponse> getAllReminders(String status, String companyNumber, Pageable pageable) {
-        Specification<Reminder> spec = Specification.where(null);
+    /**
+     * The validator for {@code If-Modified-Since} on list requests: the latest
+     * {@code updated_at} of the reminders matching the filters, or the latest delete or
+     * archive move when that is later, since those take rows out of a listing without
+     * touching the ones left. Deletes are remembered for
+     * {@code reminders.changes.tombstone-retention}. Only asked for when that header is sent.
+     */
+    @Transactional(readOnly = true)
+    public LocalDateTime getLastModified(ReminderFilter filter) {
+        LocalDateTime lastModified = latest(reminderRepository.findLastModified(filterBy(filter)),
+                tombstoneRepository.findLastDeletedAt());
+        return archiveEnabled ? latest(lastModified, archiveRepository.findLastArchivedAt()) : lastModified;
+    }
+    
+    /**
+     * Reads the requested page straight into {@link ReminderResponse} rows. No count
+     * query is issued since callers only receive the page content. The ordering must
+     * be one {@link ReminderSortPlanner} allows for the filters in use.
+     */
+    @Transactional(readOnly = true)
+    public List<ReminderResponse> getAllReminders(ReminderFilter filter, Pageable pageable) {
+        Sort sort = ReminderSortPlanner.plan(ReminderSortPlanner.filtersOf(filter), pageable.getSort());
+        return reminderRepository.findResponses(filterBy(filter), sort,
+                pageable.getOffset(), pageable.getPageSize());
+    }
+    
+    /**
+     * Keyset (seek) pagination: instead of an OFFSET and a count query, fetch the
+     * rows strictly after the cursor in (sortBy, ref) order. One extra row is read
+     * to decide whether a next cursor should be handed out.
+     */
+    @Transactional(readOnly = true)
+    public ReminderSlice getRemindersAfter(ReminderFilter filter, String cursor,
+                                           int size, String sortBy, Sort.Direction direction) {
+        if (!ReminderCursor.isSeekable(sortBy)) {
+            throw new UnsupportedSortException("Keyset pagination is not supported for sort field: " + sortBy);
+        }
+        
+        Specification<Reminder> spec = filterBy(filter);
+        if (cursor != null && !cursor.isEmpty()) {
+            ReminderCursor position = ReminderCursor.decode(cursor);
+            if (!position.getSortBy().equals(sortBy) || position.getDirection() != direction) {
+                throw new InvalidCursorException("Cursor does not match sortBy/sortDir of the request");
+            }
+            spec = spec.and(seekAfter(position));
+        }
+        
+        Sort sort = ReminderSortPlanner.plan(ReminderSortPlanner.filtersOf(filter), Sort.by(direction, sortBy));
+        List<ReminderResponse> rows = reminderRepository.findResponses(spec, sort, 0, size + 1);
+        
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = ReminderCursor.after(rows.get(size - 1), sortBy, direction).encode();
+        }
+        return new ReminderSlice(rows, nextCursor);
+    }
+    
+    /**
+     * Writes every reminder matching the filters to {@code out} as it is read from a
+     * database cursor. Rows are projected straight into DTOs, so nothing accumulates
+     * in the persistence context and heap use does not grow with the size of the export.
+     * CBOR is written as a sequence of top-level items (RFC 8742), the binary
+     * counterpart of NDJSON.
+     */
+    @Transactional(readOnly = true)
+    public void exportReminders(ReminderFilter filter, ExportFormat format, OutputStream out)
+            throws IOException {
+        if (format == ExportFormat.CBOR) {
+            try (Stream<ReminderResponse> reminders =
+                         reminderRepository.streamResponses(filterBy(filter), exportFetchSize);
+                 SequenceWriter sequence = cborWriter.writeValues(new BufferedOutputStream(out))) {
+                Iterator<ReminderResponse> iterator = reminders.iterator();
+                while (iterator.hasNext()) {
+                    sequence.write(iterator.next());
+                }
+            }
+            return;
+        }
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writerFor(ReminderResponse.class);
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
         
-        if (status != null && !status.isEmpty()) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("reminderLifecycleStatus"), status));
+        try (Stream<ReminderResponse> reminders =
+                     reminderRepository.streamResponses(filterBy(filter), exportFetchSize)) {
+            Iterator<ReminderResponse> iterator = reminders.iterator();
+            while (iterator.hasNext()) {
+                ReminderResponse reminder = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, reminder);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(reminder));
+                    writer.write('\n');
+                }
+            }
+        }
+        writer.flush();
+    }
+    
+    /**
+     * The change feed: reminders created or updated, and refs deleted or renamed away,
+     * after {@code since} (from the beginning when null), oldest first. Both sources are
+     * read in (time, ref) order from their indexes and merged.
+     * <p>
+     * Changes are stamped with the database time when their transaction runs but become
+     * visible when it commits, so only changes older than {@code reminders.changes.settle-time}
+     * are returned; a transaction that takes longer than that to commit can be missed.
+     * Reads the primary (the transaction is not read-only), since a lagging replica would
+     * let the position move past changes it has not applied yet.
+     */
+    public ReminderChanges getChangesSince(ReminderChangeToken since, int limit) {
+        LocalDateTime horizon = tombstoneRepository.databaseTime().minus(changesSettleTime);
+        if (since != null && since.getChangedAt().isBefore(horizon.minus(tombstoneRetention))) {
+            throw new ChangeTokenExpiredException();
         }
         
-        if (companyNumber != null && !companyNumber.isEmpty()) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("companyNumber"), companyNumber));
+        Specification<Reminder> spec = (root, query, cb) -> cb.lessThan(root.get("updatedAt"), horizon);
+        List<ReminderTombstone> tombstones;
+        if (since == null) {
+            tombstones = tombstoneRepository.findBefore(horizon, Limit.of(limit + 1));
+        } else {
+            spec = spec.and(changedAfter(since));
+            tombstones = tombstoneRepository.findAfter(since.getChangedAt(), since.getRef(), horizon,
+                    Limit.of(limit + 1));
         }
+        List<ReminderResponse> reminders = reminderRepository.findResponses(spec,
+                Sort.by("updatedAt", "ref"), 0, limit + 1);
         
-        Page<Reminder> reminders = reminderRepository.findAll(spec, pageable);
-        return reminders.getContent().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<ReminderChange> changes = new ArrayList<>(Math.min(limit, reminders.size() + tombstones.size()));
+        int r = 0;
+        int t = 0;
+        while (changes.size() < limit && (r < reminders.size() || t < tombstones.size())) {
+            if (t == tombstones.size() || (r < reminders.size() && isBefore(reminders.get(r), tombstones.get(t)))) {
+                changes.add(ReminderChange.of(reminders.get(r++)));
+            } else {
+                ReminderTombstone tombstone = tombstones.get(t++);
+                changes.add(ReminderChange.deleted(tombstone.getRef(), tombstone.getDeletedAt()));
+            }
+        }
+        boolean more = r < reminders.size() || t < tombstones.size();
+        // Once everything before the horizon is delivered, resume from the horizon itself
+        ReminderChangeToken next = more ? ReminderChangeToken.after(changes.get(changes.size() - 1))
+                : ReminderChangeToken.at(horizon);
+        return new ReminderChanges(changes, next.encode(), more);
+    }
+    
+    /** Time of the latest change of any kind, settled or not; null when there has been none. */
+    @Transactional(readOnly = true)
+    public LocalDateTime getLastChangedAt() {
+        return latest(reminderRepository.findLastUpdatedAt(), tombstoneRepository.findLastDeletedAt());
+    }
+    
+    /** Forgets deletes older than {@code reminders.changes.tombstone-retention}. */
+    public int purgeTombstones() {
+        return tombstoneRepository.deleteOlderThan(tombstoneRepository.databaseTime().minus(tombstoneRetention));
+    }
+    
+    /**
+     * Counts per status, the companies with the most open reminders and the number of
+     * overdue reminders. Read from the incremental counters when they are enabled,
+     * otherwise computed with one aggregate query each.
+     */
+    @Transactional(readOnly = true)
+    public ReminderStats getStats(int topCompanies) {
+        if (statsCounters != null) {
+            return statsCounters.snapshot(topCompanies);
+        }
+        
+        Map<String, Long> byStatus = new TreeMap<>();
+        reminderRepository.countByStatus()
+                .forEach(row -> byStatus.put(ReminderStatsCounters.statusKey(row.getKey()), row.getCount()));
+        return new ReminderStats(byStatus,
+                reminderRepository.countOpenByCompany(Limit.of(topCompanies)),
+                reminderRepository.countOverdue(),
+                ReminderStats.Source.QUERY);
     }
     
     public ReminderResponse createReminder(ReminderRequest request) {
         if (reminderRepository.existsByRef(request.getRef())) {
-            throw new RuntimeException("Reminder with reference number already exists: " + request.getRef());
+            throw new DuplicateReferenceException(request.getRef());
         }
         
         Reminder reminder = mapToEntity(request);
         reminder = reminderRepository.save(reminder);
-        return mapToResponse(reminder);
+        ReminderResponse response = mapToResponse(reminder);
+        eventPublisher.publishEvent(new ReminderChangedEvent(response.getRef(), null, response));
+        return response;
     }
     
-    public ReminderResponse updateReminder(String ref, ReminderRequest request) {
-        Reminder reminder = reminderRepository.findByRef(ref)
-                .orElseThrow(() -> new RuntimeException("Reminder not found with reference number: " + ref));
+    /**
+     * Creates many reminders in one transaction. Requests are processed in chunks of
+     * {@code reminders.batch-size}: each chunk costs one {@code ref IN (...)} query for
+     * duplicates and one JDBC batch of INSERTs, after which the persistence context is
+     * cleared so memory stays flat regardless of the batch length.
+     */
+    public List<ReminderBatchResult> createReminders(List<ReminderRequest> requests) {
+        List<ReminderBatchResult> results = new ArrayList<>(requests.size());
+        Set<String> seen = new HashSet<>();
         
-        // Check if new reference number conflicts with existing one
-        if (!ref.equals(request.getRef()) && 
-            reminderRepository.existsByRef(request.getRef())) {
-            throw new RuntimeException("Reminder with reference number already exists: " + request.getRef());
+        for (int from = 0; from < requests.size(); from += batchSize) {
+            List<ReminderRequest> chunk = requests.subList(from, Math.min(from + batchSize, requests.size()));
+            Set<String> refs = chunk.stream()
+                    .map(ReminderRequest::getRef)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            Set<String> existing = refs.isEmpty() ? Set.of() : reminderRepository.findExistingRefs(refs);
+            
+            for (ReminderRequest request : chunk) {
+                String ref = request.getRef();
+                String invalidReason = validateForCreate(request);
+                if (invalidReason != null) {
+                    results.add(new ReminderBatchResult(ref, ReminderBatchResult.Outcome.INVALID, invalidReason));
+                } else if (existing.contains(ref) || !seen.add(ref)) {
+                    results.add(new ReminderBatchResult(ref, ReminderBatchResult.Outcome.DUPLICATE,
+                            "Reminder with reference number already exists: " + ref));
+                } else {
+                    Reminder reminder = mapToEntity(request);
+                    entityManager.persist(reminder);
+                    eventPublisher.publishEvent(new ReminderChangedEvent(ref, null, mapToResponse(reminder)));
+                    results.add(new ReminderBatchResult(ref, ReminderBatchResult.Outcome.CREATED, null));
+                }
+            }
+            
+            flushCreated(refs);
+            entityManager.clear();
         }
-        
-        updateEntityFromRequest(reminder, request);
-        reminder = reminderRepository.save(reminder);
-        return mapToResponse(reminder);
+        return results;
+    }
+    
+    /**
+     * Full update as a single {@code UPDATE ... RETURNING} statement. A ref change is a
+     * primary key update in the same statement; a clash with an existing ref surfaces
+     * as a unique violation rather than a separate existence check. A non-null
+     * {@code expectedUpdatedAt} (from {@code If-Match}) is checked by the same statement.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.REMINDERS_BY_REF, key = "#ref"),
+            @CacheEvict(cacheNames = CacheConfig.REMINDERS_BY_REF, key = "#request.ref", condition = "#request.ref != null")
+    })
+    public ReminderResponse updateReminder(String ref, ReminderRequest request, LocalDateTime expectedUpdatedAt) {
+        ReminderResponse before = previousState(ref);
+        Reminder reminder = renamingGuard(ref, request, () -> reminderRepository.replace(ref, request.getRef(),
+                request.getCompanyNumber(), request.getDueDate(), request.getReminderLifecycleStatus(),
+                expectedUpdatedAt))
+                .orElseThrow(() -> notUpdated(ref, expectedUpdatedAt));
+        recordRename(ref, request);
+        ReminderResponse response = mapToResponse(reminder);
+        eventPublisher.publishEvent(new ReminderChangedEvent(ref, before, response));
+        return response;
+    }
+    
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.REMINDERS_BY_REF, key = "#ref"),
+            @CacheEvict(cacheNames = CacheConfig.REMINDERS_BY_REF, key = "#request.ref", condition = "#request.ref != null")
+    })
+    public ReminderResponse patchReminder(String ref, ReminderRequest request, LocalDateTime expectedUpdatedAt) {
+        // Partial update - null fields keep their stored values
+        ReminderResponse before = previousState(ref);
+        Reminder reminder = renamingGuard(ref, request, () -> reminderRepository.patch(ref, request.getRef(),
+                request.getCompanyNumber(), request.getDueDate(), request.getReminderLifecycleStatus(),
+                expectedUpdatedAt))
+                .orElseThrow(() -> notUpdated(ref, expectedUpdatedAt));
+        recordRename(ref, request);
+        ReminderResponse response = mapToResponse(reminder);
+        eventPublisher.publishEvent(new ReminderChangedEvent(ref, before, response));
+        return response;
+    }
+    
+    @CacheEvict(cacheNames = CacheConfig.REMINDERS_BY_REF, key = "#ref")
+    public void deleteReminder(String ref) {
+        ReminderResponse before = previousState(ref);
+        if (reminderRepository.bulkDeleteByRef(ref) == 0) {
+            throw new ReminderNotFoundException(ref);
+        }
+        tombstoneRepository.insert(ref);
+        eventPublisher.publishEvent(new ReminderChangedEvent(ref, before, null));
     }
     
-    public ReminderResponse patchReminder(String ref, ReminderRequest request) {
-        Reminder reminder = reminderRepository.findByRef(ref)
-                .orElseThrow(() -> new RuntimeException("Reminder not found with reference number: " + ref));
+    /**
+     * Moves every reminder matching the request's filters (and, when given, currently in
+     * one of its {@code fromStatus} values) to its target status with set-based UPDATEs
+     * instead of a load and save per reminder. Reminders already in the target status
+     * are left alone, so repeating a transition changes nothing.
+     * <p>
+     * Matching refs are walked in ref order {@code reminders.transitions.chunk-size} at a
+     * time, each chunk updated in its own short transaction so row locks are not held
+     * across the whole set. Every UPDATE re-applies the filters, so a reminder changed
+     * concurrently is only moved if it still matches. Chunks already committed stay
+     * committed if a later one fails.
+     *
+     * @return number of reminders moved
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(cacheNames = CacheConfig.REMINDERS_BY_REF, allEntries = true)
+    public long transitionReminders(ReminderTransitionRequest request) {
+        ReminderLifecycleStatus target = request.getReminderLifecycleStatus();
+        Specification<Reminder> spec = filterBy(request.toFilter())
+                .and((root, query, cb) -> cb.or(cb.isNull(root.get("reminderLifecycleStatus")),
+                        cb.notEqual(root.get("reminderLifecycleStatus"), target)));
+        List<ReminderLifecycleStatus> fromStatus = request.getFromStatus() == null ? List.of()
+                : request.getFromStatus().stream().filter(Objects::nonNull).toList();
+        if (!fromStatus.isEmpty()) {
+            spec = spec.and(anyOf("reminderLifecycleStatus", fromStatus));
+        }
         
-        // Partial update - only update non-null fields
-        if (request.getRef() != null && !ref.equals(request.getRef())) {
-            if (reminderRepository.existsByRef(request.getRef())) {
-                throw new RuntimeException("Reminder with reference number already exists: " + request.getRef());
+        Specification<Reminder> matching = spec;
+        long updated = 0;
+        String afterRef = null;
+        boolean more = true;
+        while (more) {
+            String from = afterRef;
+            TransitionChunk chunk = transactionTemplate.execute(status -> {
+                List<String> refs = reminderRepository.findRefs(matching, from, transitionChunkSize);
+                int moved = refs.isEmpty() ? 0 : reminderRepository.updateStatus(matching, refs, target);
+                return new TransitionChunk(refs, moved);
+            });
+            updated += chunk.moved();
+            more = chunk.refs().size() == transitionChunkSize;
+            if (more) {
+                afterRef = chunk.refs().get(chunk.refs().size() - 1);
             }
-            reminder.setRef(request.getRef());
         }
-        if (request.getCompanyNumber() != null) {
-            reminder.setCompanyNumber(request.getCompanyNumber());
+        
+        if (updated > 0 && statsCounters != null) {
+            statsCounters.resync();
         }
-        if (request.getDueDate() != null) {
-            reminder.setDueDate(request.getDueDate());
+        return updated;
+    }
+    
+    /** The old ref of a renamed reminder disappears, so the change feed reports it deleted. */
+    private void recordRename(String ref, ReminderRequest request) {
+        if (request.getRef() != null && !request.getRef().equals(ref)) {
+            tombstoneRepository.insert(ref);
         }
-        if (request.getReminderLifecycleStatus() != null) {
-            reminder.setReminderLifecycleStatus(request.getReminderLifecycleStatus());
+    }
+    
+    /**
+     * The row as it is before a write, for listeners that apply deltas. Costs an extra
+     * read, so it is skipped unless the incremental stats counters are enabled.
+     */
+    private ReminderResponse previousState(String ref) {
+        return statsCounters == null ? null : reminderRepository.findResponseByRef(ref).orElse(null);
+    }
+    
+    /**
+     * Explains an UPDATE that matched no row. Only a conditional update needs the extra
+     * lookup, to tell a missing reminder from one that changed since it was read.
+     */
+    private RuntimeException notUpdated(String ref, LocalDateTime expectedUpdatedAt) {
+        if (expectedUpdatedAt != null && reminderRepository.existsByRef(ref)) {
+            return new ReminderVersionMismatchException("Reminder has been modified since it was read: " + ref);
         }
+        return new ReminderNotFoundException(ref);
+    }
+    
+    /**
+     * Runs an update that may rename the reminder. A new ref that is already taken is
+     * refused with an {@code existsByRef} check first, so the expected 409 neither fails a
+     * statement (which aborts the transaction on PostgreSQL) nor shows up in Hibernate's
+     * error log. The unique index still settles two concurrent renames to the same ref.
+     */
+    private Optional<Reminder> renamingGuard(String ref, ReminderRequest request,
+                                             Supplier<Optional<Reminder>> update) {
+        String newRef = request.getRef();
+        if (newRef != null && !newRef.equals(ref) && reminderRepository.existsByRef(newRef)) {
+            throw new DuplicateReferenceException(newRef);
+        }
+        try {
+            return update.get();
+        } catch (DataIntegrityViolationException e) {
+            if (isUniqueViolation(e)) {
+                throw new DuplicateReferenceException(request.getRef());
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Flushes a chunk of {@link #createReminders}. A ref inserted by another request after
+     * the chunk's duplicate check fails the INSERT; that is reported as a conflict, and
+     * the whole batch rolls back, rather than as a server error.
+     */
+    private void flushCreated(Set<String> refs) {
+        try {
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            if (isUniqueViolation(e)) {
+                throw new DuplicateReferenceException(refs);
+            }
+            throw e;
+        }
+    }
+    
+    private static boolean isUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && UNIQUE_VIOLATION.equals(sql.getSQLState())
+                    || cause instanceof JDBCException jdbc && UNIQUE_VIOLATION.equals(jdbc.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * One predicate per filter in use, combined with AND. A single value is compared
+     * with {@code =}, several with {@code IN}, so one query serves what used to take a
+     * request per value.
+     */
+    private Specification<Reminder> filterBy(ReminderFilter filter) {
+        Specification<Reminder> spec = Specification.where(null);
         
-        reminder = reminderRepository.save(reminder);
-        return mapToResponse(reminder);
+        if (filter.hasStatuses()) {
+            spec = spec.and(anyOf("reminderLifecycleStatus", filter.getStatuses()));
+        }
+        
+        if (filter.hasCompanyNumbers()) {
+            spec = spec.and(anyOf("companyNumber", filter.getCompanyNumbers()));
+        }
+        
+        if (filter.getDueFrom() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dueDate"), filter.getDueFrom()));
+        }
+        if (filter.getDueTo() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("dueDate"), filter.getDueTo()));
+        }
+        return spec;
     }
     
-    public void deleteReminder(String ref) {
-        Reminder reminder = reminderRepository.findByRef(ref)
-                .orElseThrow(() -> new RuntimeException("Reminder not found with reference number: " + ref));
-        reminderRepository.delete(reminder);
+    private static Specification<Reminder> anyOf(String attribute, Collection<?> values) {
+        Set<?> distinct = Set.copyOf(values);
+        if (distinct.size() == 1) {
+            Object value = distinct.iterator().next();
+            return (root, query, cb) -> cb.equal(root.get(attribute), value);
+        }
+        return (root, query, cb) -> root.get(attribute).in(distinct);
+    }
+    
+    /** {@code (updated_at, ref) > (?, ?)}, expanded as in {@link #seekAfter}. */
+    private static Specification<Reminder> changedAfter(ReminderChangeToken since) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> updatedAt = root.get("updatedAt");
+            return cb.or(cb.greaterThan(updatedAt, since.getChangedAt()),
+                    cb.and(cb.equal(updatedAt, since.getChangedAt()), cb.greaterThan(root.get("ref"), since.getRef())));
+        };
+    }
+    
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null || b == null) {
+            return a == null ? b : a;
+        }
+        return a.isAfter(b) ? a : b;
+    }
+    
+    private static boolean isBefore(ReminderResponse reminder, ReminderTombstone tombstone) {
+        int byTime = reminder.getUpdatedAt().compareTo(tombstone.getDeletedAt());
+        return byTime < 0 || (byTime == 0 && reminder.getRef().compareTo(tombstone.getRef()) < 0);
+    }
+    
+    /**
+     * Expanded form of the row-value predicate {@code (sortBy, ref) < (?, ?)}
+     * (or {@code >} for ascending order), which the criteria API cannot express directly.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Specification<Reminder> seekAfter(ReminderCursor cursor) {
+        boolean descending = cursor.getDirection().isDescending();
+        return (root, query, cb) -> {
+            Path<Comparable> key = root.get(cursor.getSortBy());
+            Path<String> ref = root.get("ref");
+            Comparable value = cursor.getValue();
+            if ("ref".equals(cursor.getSortBy())) {
+                return descending ? cb.lessThan(ref, cursor.getRef()) : cb.greaterThan(ref, cursor.getRef());
+            }
+            Predicate beyondKey = descending ? cb.lessThan(key, value) : cb.greaterThan(key, value);
+            Predicate beyondRef = descending ? cb.lessThan(ref, cursor.getRef()) : cb.greaterThan(ref, cursor.getRef());
+            return cb.or(beyondKey, cb.and(cb.equal(key, value), beyondRef));
+        };
+    }
+    
+    private void writeCsvRow(Writer writer, ReminderResponse reminder) throws IOException {
+        Object[] values = {
+                reminder.getRef(),
+                reminder.getCompanyNumber(),
+                reminder.getDueDate(),
+                reminder.getReminderLifecycleStatus(),
+                reminder.getReminderGeneratedAt(),
+                reminder.getReminderSentAt(),
+                reminder.getCreatedAt(),
+                reminder.getUpdatedAt()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(values[i].toString()));
+            }
+        }
+        writer.write('\n');
+    }
+    
+    private String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+    
+    /**
+     * Checks the fields a new reminder needs.
+     *
+     * @return why the request cannot be created, or null if it is valid
+     */
+    public static String validateForCreate(ReminderRequest request) {
+        if (request.getRef() == null || request.getRef().isBlank()) {
+            return "ref is required";
+        }
+        if (request.getCompanyNumber() == null || request.getCompanyNumber().isBlank()) {
+            return "companyNumber is required";
+        }
+        if (request.getDueDate() == null) {
+            return "dueDate is required";
+        }
+        return null;
     }
     
     private Reminder mapToEntity(ReminderRequest request) {
@@ -113,16 +695,7 @@ public class ReminderService {
         return reminder;
     }
     
-    private void updateEntityFromRequest(Reminder reminder, ReminderRequest request) {
-        reminder.setRef(request.getRef());
-        reminder.setCompanyNumber(request.getCompanyNumber());
-        reminder.setDueDate(request.getDueDate());
-        if (request.getReminderLifecycleStatus() != null) {
-            reminder.setReminderLifecycleStatus(request.getReminderLifecycleStatus());
-        }
-    }
-    
-    private ReminderResponse mapToResponse(Reminder reminder) {
+    static ReminderResponse mapToResponse(Reminder reminder) {
         return new ReminderResponse(
                 reminder.getRef(),
                 reminder.getCompanyNumber(),
@@ -134,4 +707,7 @@ public class ReminderService {
                 reminder.getUpdatedAt()
         );
     }
+    
+    private record TransitionChunk(List<String> refs, int moved) {
+    }
 }
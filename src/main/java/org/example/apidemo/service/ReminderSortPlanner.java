@@ -0,0 +1,102 @@
+package org.example.apidemo.service;
+
+import org.example.apidemo.dto.ReminderFilter;
+import org.example.apidemo.exception.UnsupportedSortException;
+import org.springframework.data.domain.Sort;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Restricts list orderings to the ones an index can deliver for the filters in use,
+ * so no listing ends in a full-table sort. The allowed combinations mirror the
+ * indexes created by the schema migrations. {@code ref} is appended as a
+ * tiebreaker to make the ordering total, which pagination relies on.
+ * <p>
+ * A filter counts as in use whatever the number of values it lists, but only a single
+ * value lets the index hand rows over already in order. With several statuses or
+ * company numbers PostgreSQL fetches the matching rows with a bitmap or index scan and
+ * sorts them explicitly, so the cost grows with the number of matching rows, not the
+ * page size. Those orderings are allowed because the filters are selective, not because
+ * they are index-ordered: {@code ReminderQueryPlanTest} only guarantees that no
+ * sequential scan feeds the sort.
+ */
+public final class ReminderSortPlanner {
+    
+    public enum Filter {
+        STATUS,
+        COMPANY_NUMBER,
+        DUE_DATE
+    }
+    
+    public static final String DEFAULT_SORT = "createdAt";
+    
+    private static final Map<Set<Filter>, List<String>> ALLOWED_SORTS = Map.of(
+            EnumSet.noneOf(Filter.class), List.of("createdAt", "dueDate", "ref"),
+            EnumSet.of(Filter.STATUS), List.of("createdAt"),
+            EnumSet.of(Filter.COMPANY_NUMBER), List.of("createdAt"),
+            EnumSet.of(Filter.STATUS, Filter.COMPANY_NUMBER), List.of("createdAt"),
+            EnumSet.of(Filter.DUE_DATE), List.of("dueDate", "createdAt"),
+            EnumSet.of(Filter.STATUS, Filter.DUE_DATE), List.of("dueDate", "createdAt"),
+            EnumSet.of(Filter.COMPANY_NUMBER, Filter.DUE_DATE), List.of("dueDate", "createdAt"),
+            EnumSet.of(Filter.STATUS, Filter.COMPANY_NUMBER, Filter.DUE_DATE), List.of("dueDate", "createdAt")
+    );
+    
+    private static final Set<String> SORT_FIELDS = ALLOWED_SORTS.values().stream()
+            .flatMap(List::stream)
+            .collect(Collectors.toUnmodifiableSet());
+    
+    private ReminderSortPlanner() {
+    }
+    
+    public static Map<Set<Filter>, List<String>> allowedSorts() {
+        return ALLOWED_SORTS;
+    }
+    
+    /** Every field that some combination of filters may be sorted by. */
+    public static Set<String> sortFields() {
+        return SORT_FIELDS;
+    }
+    
+    public static Set<Filter> filtersOf(ReminderFilter filter) {
+        Set<Filter> filters = EnumSet.noneOf(Filter.class);
+        if (filter.hasStatuses()) {
+            filters.add(Filter.STATUS);
+        }
+        if (filter.hasCompanyNumbers()) {
+            filters.add(Filter.COMPANY_NUMBER);
+        }
+        if (filter.hasDueDateRange()) {
+            filters.add(Filter.DUE_DATE);
+        }
+        return filters;
+    }
+    
+    /**
+     * Validates the requested ordering against the filters and returns it with the
+     * {@code ref} tiebreaker appended. An unsorted request gets the default ordering.
+     */
+    public static Sort plan(Set<Filter> filters, Sort requested) {
+        Sort.Order order = requested.isSorted()
+                ? requested.iterator().next()
+                : Sort.Order.desc(DEFAULT_SORT);
+        if (requested.stream().count() > 1) {
+            throw new UnsupportedSortException("Only a single sort field is supported");
+        }
+        
+        List<String> allowed = ALLOWED_SORTS.get(filters);
+        if (!allowed.contains(order.getProperty())) {
+            throw new UnsupportedSortException("Sorting by '" + order.getProperty() + "' is not supported"
+                    + (filters.isEmpty() ? "" : " with filters " + filters) + "; allowed: " + allowed);
+        }
+        
+        Sort sort = Sort.by(order);
+        if (!"ref".equals(order.getProperty())) {
+            sort = sort.and(Sort.by(order.getDirection(), "ref"));
+        }
+        return sort;
+    }
+}
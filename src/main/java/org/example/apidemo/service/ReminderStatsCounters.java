@@ -0,0 +1,151 @@
+package org.example.apidemo.service;
+
+import org.example.apidemo.dto.ReminderCount;
+import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.dto.ReminderStats;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.example.apidemo.repository.ReminderRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory reminder counts kept up to date from {@link ReminderChangedEvent}s once
+ * their transaction commits, so {@code GET /api/reminders/stats} is answered without
+ * touching the database.
+ * <p>
+ * Only writes made through this instance are seen. Changes made by other instances or
+ * directly in the database are picked up when the counters are rebuilt from the
+ * aggregate queries, at startup and every {@code reminders.stats.resync-interval}.
+ */
+@Component
+@ConditionalOnProperty(name = "reminders.stats.incremental", havingValue = "true")
+public class ReminderStatsCounters {
+    
+    static final ReminderLifecycleStatus OPEN_STATUS = ReminderLifecycleStatus.POSTED;
+    
+    static final String UNSET_STATUS = "UNSET";
+    
+    private final ReminderRepository reminderRepository;
+    
+    /** Deltas share the read lock; a resync swaps every map under the write lock. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private volatile ConcurrentMap<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+    
+    private volatile ConcurrentMap<String, LongAdder> openByCompany = new ConcurrentHashMap<>();
+    
+    private volatile ConcurrentSkipListMap<LocalDate, LongAdder> openByDueDate = new ConcurrentSkipListMap<>();
+    
+    public ReminderStatsCounters(ReminderRepository reminderRepository) {
+        this.reminderRepository = reminderRepository;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReminderChanged(ReminderChangedEvent event) {
+        lock.readLock().lock();
+        try {
+            if (event.before() != null) {
+                add(event.before(), -1);
+            }
+            if (event.after() != null) {
+                add(event.after(), 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Rebuilds every counter from the aggregate queries in one transaction. It is not
+     * marked read-only so that, with read replicas, it reads from the primary: a lagging
+     * replica would drop writes the counters have already applied.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${reminders.stats.resync-interval:PT10M}",
+            initialDelayString = "${reminders.stats.resync-interval:PT10M}")
+    @Transactional
+    public void resync() {
+        ConcurrentMap<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        reminderRepository.countByStatus().forEach(row -> counter(statuses, statusKey(row.getKey())).add(row.getCount()));
+        
+        ConcurrentMap<String, LongAdder> companies = new ConcurrentHashMap<>();
+        reminderRepository.countOpenByCompany(Limit.unlimited())
+                .forEach(row -> counter(companies, row.getKey()).add(row.getCount()));
+        
+        ConcurrentSkipListMap<LocalDate, LongAdder> dueDates = new ConcurrentSkipListMap<>();
+        for (Object[] row : reminderRepository.countOpenByDueDate()) {
+            counter(dueDates, (LocalDate) row[0]).add((Long) row[1]);
+        }
+        
+        lock.writeLock().lock();
+        try {
+            byStatus = statuses;
+            openByCompany = companies;
+            openByDueDate = dueDates;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public ReminderStats snapshot(int topCompanies) {
+        Map<String, Long> statuses = new TreeMap<>();
+        byStatus.forEach((status, count) -> {
+            if (count.sum() > 0) {
+                statuses.put(status, count.sum());
+            }
+        });
+        
+        List<ReminderCount> companies = openByCompany.entrySet().stream()
+                .map(entry -> new ReminderCount(entry.getKey(), entry.getValue().sum()))
+                .filter(row -> row.getCount() > 0)
+                .sorted(Comparator.comparingLong(ReminderCount::getCount).reversed()
+                        .thenComparing(ReminderCount::getKey))
+                .limit(topCompanies)
+                .toList();
+        
+        NavigableMap<LocalDate, LongAdder> pastDue = openByDueDate.headMap(LocalDate.now(), false);
+        long overdue = pastDue.values().stream().mapToLong(LongAdder::sum).sum();
+        
+        return new ReminderStats(statuses, companies, overdue, ReminderStats.Source.COUNTERS);
+    }
+    
+    static String statusKey(String status) {
+        return status == null ? UNSET_STATUS : status;
+    }
+    
+    static String statusKey(ReminderLifecycleStatus status) {
+        return status == null ? UNSET_STATUS : status.name();
+    }
+    
+    private void add(ReminderResponse reminder, long delta) {
+        counter(byStatus, statusKey(reminder.getReminderLifecycleStatus())).add(delta);
+        if (reminder.getReminderLifecycleStatus() == OPEN_STATUS) {
+            counter(openByCompany, reminder.getCompanyNumber()).add(delta);
+            counter(openByDueDate, reminder.getDueDate()).add(delta);
+        }
+    }
+    
+    private static <K> LongAdder counter(ConcurrentMap<K, LongAdder> counters, K key) {
+        return counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+}
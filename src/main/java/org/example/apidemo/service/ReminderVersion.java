@@ -0,0 +1,89 @@
+package org.example.apidemo.service;
+
+import org.example.apidemo.dto.ReminderResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * HTTP validators derived from the database-maintained {@code updated_at} column.
+ * <p>
+ * A single reminder's ETag is its {@code updated_at} in epoch microseconds, so an
+ * {@code If-Match} header can be turned back into the timestamp and checked inside the
+ * UPDATE itself. A listing's ETag hashes the request parameters together with the ref
+ * and {@code updated_at} of every row on the page, so it changes when a row on the page
+ * is updated, or when inserts or deletes move rows onto or off the page, and costs
+ * nothing beyond the page query. Listings are gzipped on the way out, so their ETag is
+ * weak: it names the content, not the exact bytes (Tomcat also refuses to compress a
+ * response carrying a strong one).
+ */
+public final class ReminderVersion {
+    
+    private ReminderVersion() {
+    }
+    
+    public static String etag(LocalDateTime updatedAt) {
+        Instant instant = updatedAt.toInstant(ZoneOffset.UTC);
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+        return '"' + Long.toHexString(micros) + '"';
+    }
+    
+    /**
+     * Inverse of {@link #etag(LocalDateTime)}. Empty for {@code *}, weak or malformed tags,
+     * none of which can name a specific version.
+     */
+    public static Optional<LocalDateTime> parse(String etag) {
+        String value = etag.trim();
+        if (value.length() < 3 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            return Optional.empty();
+        }
+        try {
+            long micros = Long.parseLong(value.substring(1, value.length() - 1), 16);
+            Instant instant = Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+            return Optional.of(LocalDateTime.ofInstant(instant, ZoneOffset.UTC));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+    
+    public static String listEtag(String scope, List<ReminderResponse> page) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            for (ReminderResponse reminder : page) {
+                String row = "\n" + reminder.getRef() + '\t' + reminder.getUpdatedAt();
+                digest.update(row.getBytes(StandardCharsets.UTF_8));
+            }
+            return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    /** Latest {@code updated_at} among the rows of a page, or null when there is none. */
+    public static LocalDateTime newest(List<ReminderResponse> page) {
+        return page.stream()
+                .map(ReminderResponse::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+    
+    /**
+     * {@code Last-Modified} value in epoch milliseconds, or -1 (no header) when unknown.
+     * {@code updated_at} is a timestamp without time zone written in the JVM's zone.
+     */
+    public static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
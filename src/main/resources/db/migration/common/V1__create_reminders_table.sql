@@ -0,0 +1,11 @@
+-- Baseline of the reminders table. A no-op on databases where it already exists.
+CREATE TABLE IF NOT EXISTS companies_house_data.reminders (
+    ref                       VARCHAR(100) PRIMARY KEY,
+    company_number            VARCHAR(255) NOT NULL,
+    due_date                  DATE         NOT NULL,
+    reminder_lifecycle_status VARCHAR(50),
+    reminder_generated_at     TIMESTAMP    NOT NULL,
+    reminder_sent_at          TIMESTAMP,
+    created_at                TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at                TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,7 @@
+-- Refs deleted, or renamed away, by the API, for the change feed. Kept for
+-- reminders.changes.tombstone-retention; the key is the order the feed reads them in.
+CREATE TABLE IF NOT EXISTS companies_house_data.reminder_tombstones (
+    deleted_at TIMESTAMP    NOT NULL,
+    ref        VARCHAR(100) NOT NULL,
+    PRIMARY KEY (deleted_at, ref)
+);
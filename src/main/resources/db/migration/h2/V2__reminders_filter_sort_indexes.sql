@@ -0,0 +1,12 @@
+-- Embedded-database counterpart of the PostgreSQL migration of the same version.
+CREATE INDEX IF NOT EXISTS idx_reminders_company_created
+    ON companies_house_data.reminders (company_number, created_at, ref);
+
+CREATE INDEX IF NOT EXISTS idx_reminders_status_created
+    ON companies_house_data.reminders (reminder_lifecycle_status, created_at, ref);
+
+CREATE INDEX IF NOT EXISTS idx_reminders_due_date
+    ON companies_house_data.reminders (due_date, ref);
+
+CREATE INDEX IF NOT EXISTS idx_reminders_created
+    ON companies_house_data.reminders (created_at, ref);
@@ -0,0 +1,16 @@
+-- Embedded-database counterpart of the PostgreSQL migration of the same version.
+DROP INDEX IF EXISTS companies_house_data.idx_reminders_posted_due;
+
+ALTER TABLE companies_house_data.reminders
+    ALTER COLUMN reminder_lifecycle_status SET DATA TYPE SMALLINT
+    USING CASE UPPER(TRIM(reminder_lifecycle_status))
+        WHEN 'POSTED' THEN 1
+        WHEN 'SENT' THEN 2
+        WHEN 'DELIVERED' THEN 3
+        WHEN 'PENDING' THEN 4
+        WHEN '' THEN NULL
+        ELSE CAST(reminder_lifecycle_status AS SMALLINT)
+    END;
+
+ALTER TABLE companies_house_data.reminders
+    ADD CONSTRAINT chk_reminders_lifecycle_status CHECK (reminder_lifecycle_status BETWEEN 1 AND 4);
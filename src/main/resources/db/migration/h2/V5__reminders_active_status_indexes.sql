@@ -0,0 +1,7 @@
+-- Embedded-database counterpart of the PostgreSQL migration of the same version.
+-- H2 has no partial indexes, so the status is the leading column instead.
+CREATE INDEX IF NOT EXISTS idx_reminders_active_due
+    ON companies_house_data.reminders (reminder_lifecycle_status, due_date, ref);
+
+CREATE INDEX IF NOT EXISTS idx_reminders_active_company_due
+    ON companies_house_data.reminders (company_number, reminder_lifecycle_status, due_date, ref);
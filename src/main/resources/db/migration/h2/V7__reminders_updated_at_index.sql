@@ -0,0 +1,3 @@
+-- Embedded-database counterpart of the PostgreSQL migration of the same version.
+CREATE INDEX IF NOT EXISTS idx_reminders_updated
+    ON companies_house_data.reminders (updated_at, ref);
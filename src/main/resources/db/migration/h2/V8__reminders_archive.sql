@@ -0,0 +1,14 @@
+-- Embedded-database counterpart of the PostgreSQL migration of the same version.
+-- H2 has no declarative partitioning, so the archive is a plain table.
+CREATE TABLE IF NOT EXISTS companies_house_data.reminders_archive (
+    ref                       VARCHAR(100) NOT NULL,
+    company_number            VARCHAR(255) NOT NULL,
+    due_date                  DATE         NOT NULL,
+    reminder_lifecycle_status SMALLINT,
+    reminder_generated_at     TIMESTAMP    NOT NULL,
+    reminder_sent_at          TIMESTAMP,
+    created_at                TIMESTAMP,
+    updated_at                TIMESTAMP,
+    archived_at               TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (ref, due_date)
+);
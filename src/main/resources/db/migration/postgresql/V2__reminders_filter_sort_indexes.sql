@@ -0,0 +1,14 @@
+-- Indexes backing every ordering allowed by ReminderSortPlanner. ref is the trailing
+-- column so the (sort column, ref) tiebreaker ordering is read straight off the index.
+-- Built concurrently so writes are not blocked on the live table (see the .conf file).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reminders_company_created
+    ON companies_house_data.reminders (company_number, created_at, ref);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reminders_status_created
+    ON companies_house_data.reminders (reminder_lifecycle_status, created_at, ref);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reminders_due_date
+    ON companies_house_data.reminders (due_date, ref);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reminders_created
+    ON companies_house_data.reminders (created_at, ref);
@@ -0,0 +1,5 @@
+-- Serves the dispatcher's claim query (POSTED and due, oldest first). Partial, so it
+-- only holds the reminders still waiting to be sent.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reminders_posted_due
+    ON companies_house_data.reminders (due_date, ref)
+    WHERE reminder_lifecycle_status = 'POSTED';
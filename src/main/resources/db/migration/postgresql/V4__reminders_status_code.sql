@@ -0,0 +1,20 @@
+-- Stores the lifecycle status as a SMALLINT code (see ReminderLifecycleStatus) instead of
+-- free text. Known values are matched case-insensitively; anything else reaches the cast
+-- in the ELSE branch or the check constraint and aborts the migration, so no status is
+-- silently lost. Changing the type rewrites the table under an exclusive lock.
+-- V3's partial index compares against the old text value; V5 replaces it.
+DROP INDEX IF EXISTS companies_house_data.idx_reminders_posted_due;
+
+ALTER TABLE companies_house_data.reminders
+    ALTER COLUMN reminder_lifecycle_status TYPE SMALLINT
+    USING CASE UPPER(TRIM(reminder_lifecycle_status))
+        WHEN 'POSTED' THEN 1
+        WHEN 'SENT' THEN 2
+        WHEN 'DELIVERED' THEN 3
+        WHEN 'PENDING' THEN 4
+        WHEN '' THEN NULL
+        ELSE CAST(reminder_lifecycle_status AS SMALLINT)
+    END;
+
+ALTER TABLE companies_house_data.reminders
+    ADD CONSTRAINT chk_reminders_lifecycle_status CHECK (reminder_lifecycle_status BETWEEN 1 AND 4);
@@ -0,0 +1,12 @@
+-- Partial indexes over the active statuses, POSTED (1) and PENDING (4): the reminders
+-- still awaiting delivery, which is what most filtered listings ask for. They hold only
+-- those rows, so "POSTED or PENDING, due this week" is a short range scan in due-date
+-- order. idx_reminders_active_due also serves the dispatcher's claim query in place of
+-- the POSTED-only index dropped by V4.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reminders_active_due
+    ON companies_house_data.reminders (due_date, ref)
+    WHERE reminder_lifecycle_status IN (1, 4);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reminders_active_company_due
+    ON companies_house_data.reminders (company_number, due_date, ref)
+    WHERE reminder_lifecycle_status IN (1, 4);
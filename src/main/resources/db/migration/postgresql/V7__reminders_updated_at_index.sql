@@ -0,0 +1,4 @@
+-- The change feed reads reminders in (updated_at, ref) order from its last position,
+-- and its waiters look up the latest updated_at; both are short index scans with this.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reminders_updated
+    ON companies_house_data.reminders (updated_at, ref);
@@ -0,0 +1,24 @@
+-- Archive for DELIVERED reminders past reminders.archive.retention, moved out of the
+-- live table by ReminderArchiver so the live indexes only cover current reminders.
+-- Range partitioned by month of due_date: the archiver creates each month's partition,
+-- and a few months ahead, before moving rows into it; a due_date range only visits the
+-- months it covers, and a month can be detached or dropped as a whole.
+-- The partition key has to be part of the primary key, so ref alone is not enforced
+-- unique here; the archiver replaces any earlier copy of a ref it archives.
+CREATE TABLE IF NOT EXISTS companies_house_data.reminders_archive (
+    ref                       VARCHAR(100) NOT NULL,
+    company_number            VARCHAR(255) NOT NULL,
+    due_date                  DATE         NOT NULL,
+    reminder_lifecycle_status SMALLINT,
+    reminder_generated_at     TIMESTAMP    NOT NULL,
+    reminder_sent_at          TIMESTAMP,
+    created_at                TIMESTAMP,
+    updated_at                TIMESTAMP,
+    archived_at               TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (ref, due_date)
+) PARTITION BY RANGE (due_date);
+
+-- Takes rows no monthly partition covers, so a move never fails for want of one. The
+-- archiver keeps it empty: a month cannot be attached while this holds rows for it.
+CREATE TABLE IF NOT EXISTS companies_house_data.reminders_archive_default
+    PARTITION OF companies_house_data.reminders_archive DEFAULT;
@@ -0,0 +1,5 @@
+-- Conditional list requests compare If-Modified-Since with the latest archive move, so
+-- max(archived_at) is read from the end of this index in each partition. CONCURRENTLY
+-- is not supported on a partitioned table; only the archiver writes to it.
+CREATE INDEX IF NOT EXISTS idx_reminders_archive_archived_at
+    ON companies_house_data.reminders_archive (archived_at);
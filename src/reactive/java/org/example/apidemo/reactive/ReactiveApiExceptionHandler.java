@@ -0,0 +1,16 @@
+package org.example.apidemo.reactive;
+
+import org.example.apidemo.exception.ApiExceptionHandler;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * The servlet API's {@link ApiExceptionHandler} mappings, registered with WebFlux. Only
+ * this package is scanned in the reactive application, so the shared handler is not
+ * picked up on its own; inheriting its handler methods keeps both stacks on the same
+ * status codes and bodies for the shared domain exceptions.
+ */
+@RestControllerAdvice
+@Profile(ReactiveReadApplication.PROFILE)
+public class ReactiveApiExceptionHandler extends ApiExceptionHandler {
+}
@@ -0,0 +1,55 @@
+package org.example.apidemo.reactive;
+
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Entry point of the reactive read API: WebFlux on Netty reading the reminders table
+ * through R2DBC, with no JDBC pool or JPA. Only this package is scanned, and the
+ * {@code reactive} profile keeps these beans out of the servlet application, whose
+ * component scan also covers this package when built with {@code -Preactive}.
+ */
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+@Profile(ReactiveReadApplication.PROFILE)
+public class ReactiveReadApplication implements WebFluxConfigurer {
+    
+    public static final String PROFILE = "reactive";
+    
+    public static void main(String[] args) {
+        builder().run(args);
+    }
+    
+    /**
+     * The servlet stack is on the classpath as well, so the reactive web type has to be
+     * chosen explicitly.
+     */
+    public static SpringApplicationBuilder builder() {
+        return new SpringApplicationBuilder(ReactiveReadApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PROFILE);
+    }
+    
+    /**
+     * Boot prefers Tomcat for reactive applications too when it is on the classpath, as it
+     * is here for the servlet application; declaring the factory keeps this one on Netty.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+    
+    /** Case-insensitive {@code status} parameters, as in the servlet API's {@code WebConfig}. */
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, ReminderLifecycleStatus.class, ReminderLifecycleStatus::from);
+    }
+}
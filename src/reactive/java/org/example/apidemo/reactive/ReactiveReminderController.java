@@ -0,0 +1,88 @@
+package org.example.apidemo.reactive;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.apidemo.dto.ReminderFilter;
+import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.example.apidemo.exception.ReminderNotFoundException;
+import org.example.apidemo.service.ReminderSortPlanner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read-only, non-blocking counterpart of the servlet {@code ReminderController}: same
+ * paths, parameters, sort rules and {@link ReminderResponse} bodies. Errors are raised as
+ * the shared domain exceptions and mapped by {@link ReactiveApiExceptionHandler}, so they
+ * carry the servlet API's status codes and bodies as well.
+ */
+@RestController
+@RequestMapping("/api/reminders")
+@Profile(ReactiveReadApplication.PROFILE)
+@Tag(name = "Reminders (reactive)", description = "Non-blocking read API for reminders")
+public class ReactiveReminderController {
+    
+    private final ReactiveReminderRepository reminderRepository;
+    
+    public ReactiveReminderController(ReactiveReminderRepository reminderRepository) {
+        this.reminderRepository = reminderRepository;
+    }
+    
+    @GetMapping("/{referenceNumber}")
+    @Operation(summary = "Get reminder by reference number")
+    public Mono<ResponseEntity<ReminderResponse>> getByReferenceNumber(
+            @Parameter(description = "Reference number (ref) of the reminder", required = true, example = "26011715655987")
+            @PathVariable String referenceNumber) {
+        return reminderRepository.findByRef(referenceNumber)
+                .map(ResponseEntity::ok)
+                .switchIfEmpty(Mono.error(() -> new ReminderNotFoundException(referenceNumber)));
+    }
+    
+    @GetMapping
+    @Operation(summary = "Get all reminders", description = "Filtered, sorted and paged like the servlet API")
+    public Mono<ResponseEntity<List<ReminderResponse>>> getAllReminders(
+            @RequestParam(required = false) List<ReminderLifecycleStatus> status,
+            @RequestParam(required = false) List<String> companyNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir) {
+        
+        Sort.Direction direction = sortDir.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        ReminderFilter filter = ReminderFilter.of(status, companyNumber, dueFrom, dueTo);
+        Sort sort = ReminderSortPlanner.plan(ReminderSortPlanner.filtersOf(filter), Sort.by(direction, sortBy));
+        
+        return reminderRepository.findAll(filter, sort, (long) page * size, size)
+                .collectList()
+                .map(reminders -> !filter.isEmpty() && reminders.isEmpty()
+                        ? ResponseEntity.notFound().<List<ReminderResponse>>build()
+                        : ResponseEntity.ok(reminders));
+    }
+    
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export reminders",
+            description = "Streams every matching reminder as NDJSON; rows are read only as fast as the client consumes them")
+    public Flux<ReminderResponse> exportReminders(
+            @RequestParam(required = false) List<ReminderLifecycleStatus> status,
+            @RequestParam(required = false) List<String> companyNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo) {
+        return reminderRepository.streamAll(ReminderFilter.of(status, companyNumber, dueFrom, dueTo));
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.apidemo.reactive;
+
+import io.r2dbc.spi.Readable;
+import org.example.apidemo.dto.ReminderFilter;
+import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Non-blocking reads of {@code companies_house_data.reminders} straight into
+ * {@link ReminderResponse}, the DTO the servlet API serves.
+ */
+@Repository
+@Profile(ReactiveReadApplication.PROFILE)
+public class ReactiveReminderRepository {
+    
+    private static final String SELECT = "SELECT ref, company_number, due_date, reminder_lifecycle_status, "
+            + "reminder_generated_at, reminder_sent_at, created_at, updated_at FROM companies_house_data.reminders";
+    
+    /** Columns for the fields {@link org.example.apidemo.service.ReminderSortPlanner} can hand back. */
+    private static final Map<String, String> COLUMNS = Map.of(
+            "ref", "ref",
+            "companyNumber", "company_number",
+            "dueDate", "due_date",
+            "reminderLifecycleStatus", "reminder_lifecycle_status",
+            "reminderGeneratedAt", "reminder_generated_at",
+            "reminderSentAt", "reminder_sent_at",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at"
+    );
+    
+    private final DatabaseClient databaseClient;
+    
+    private final int fetchSize;
+    
+    public ReactiveReminderRepository(DatabaseClient databaseClient,
+                                      @Value("${reminders.reactive.fetch-size:500}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+    
+    public Mono<ReminderResponse> findByRef(String ref) {
+        return databaseClient.sql(SELECT + " WHERE ref = :ref")
+                .bind("ref", ref)
+                .map(ReactiveReminderRepository::toResponse)
+                .one();
+    }
+    
+    public Flux<ReminderResponse> findAll(ReminderFilter filter, Sort sort, long offset, int limit) {
+        String sql = SELECT + where(filter) + orderBy(sort) + " LIMIT :limit OFFSET :offset";
+        return bindFilters(databaseClient.sql(sql), filter)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveReminderRepository::toResponse)
+                .all();
+    }
+    
+    /**
+     * Every matching row, pulled from the database {@code fetchSize} rows at a time as
+     * the subscriber signals demand, so a slow consumer slows the query down instead of
+     * buffering the result.
+     */
+    public Flux<ReminderResponse> streamAll(ReminderFilter filter) {
+        return bindFilters(databaseClient.sql(SELECT + where(filter)), filter)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveReminderRepository::toResponse)
+                .all();
+    }
+    
+    /** Same predicates as the servlet API's specification; collection parameters expand to IN lists. */
+    private static String where(ReminderFilter filter) {
+        StringJoiner conditions = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        if (filter.hasStatuses()) {
+            conditions.add("reminder_lifecycle_status IN (:statuses)");
+        }
+        if (filter.hasCompanyNumbers()) {
+            conditions.add("company_number IN (:companyNumbers)");
+        }
+        if (filter.getDueFrom() != null) {
+            conditions.add("due_date >= :dueFrom");
+        }
+        if (filter.getDueTo() != null) {
+            conditions.add("due_date <= :dueTo");
+        }
+        return conditions.toString();
+    }
+    
+    private static DatabaseClient.GenericExecuteSpec bindFilters(DatabaseClient.GenericExecuteSpec spec,
+                                                                 ReminderFilter filter) {
+        if (filter.hasStatuses()) {
+            spec = spec.bind("statuses", filter.getStatuses().stream().map(ReminderLifecycleStatus::getCode).toList());
+        }
+        if (filter.hasCompanyNumbers()) {
+            spec = spec.bind("companyNumbers", filter.getCompanyNumbers());
+        }
+        if (filter.getDueFrom() != null) {
+            spec = spec.bind("dueFrom", filter.getDueFrom());
+        }
+        if (filter.getDueTo() != null) {
+            spec = spec.bind("dueTo", filter.getDueTo());
+        }
+        return spec;
+    }
+    
+    private static String orderBy(Sort sort) {
+        StringJoiner orders = new StringJoiner(", ", " ORDER BY ", "").setEmptyValue("");
+        sort.forEach(order -> orders.add(COLUMNS.get(order.getProperty()) + " " + order.getDirection().name()));
+        return orders.toString();
+    }
+    
+    private static ReminderResponse toResponse(Readable row) {
+        Short status = row.get("reminder_lifecycle_status", Short.class);
+        return new ReminderResponse(
+                row.get("ref", String.class),
+                row.get("company_number", String.class),
+                row.get("due_date", LocalDate.class),
+                status == null ? null : ReminderLifecycleStatus.fromCode(status),
+                row.get("reminder_generated_at", LocalDateTime.class),
+                row.get("reminder_sent_at", LocalDateTime.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class)
+        );
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.apidemo.reactive;
+
+import org.example.apidemo.ApidemoApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the servlet and the reactive application side by side on one embedded database
+ * and checks that both read paths return the same bodies.
+ */
+class ReactiveReminderControllerTest {
+    
+    static final String R2DBC_URL = "r2dbc:h2:mem:///reminders"
+            + "?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    
+    private static ConfigurableApplicationContext servlet;
+    
+    private static ConfigurableApplicationContext reactive;
+    
+    private static WebTestClient servletClient;
+    
+    private static WebTestClient reactiveClient;
+    
+    @BeforeAll
+    static void startBoth() {
+        servlet = new SpringApplicationBuilder(ApidemoApplication.class)
+                .profiles("h2")
+                .properties("server.port=0", "reminders.cache.maximum-size=0")
+                .run();
+        reactive = ReactiveReadApplication.builder()
+                .run("--server.port=0", "--spring.r2dbc.url=" + R2DBC_URL, "--spring.r2dbc.username=sa");
+        servletClient = client(servlet);
+        reactiveClient = client(reactive);
+        
+        servletClient.post().uri("/api/reminders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[" + String.join(",",
+                        reminder("RX-1", "100", "2026-01-01", "POSTED"),
+                        reminder("RX-2", "100", "2026-01-02", "SENT"),
+                        reminder("RX-3", "200", "2026-01-03", "POSTED")) + "]")
+                .exchange()
+                .expectStatus().isOk();
+    }
+    
+    @AfterAll
+    static void stopBoth() {
+        reactive.close();
+        servlet.close();
+    }
+    
+    @Test
+    void getByReferenceNumber_MatchesServletBody() {
+        assertEquals(body(servletClient, "/api/reminders/RX-1"), body(reactiveClient, "/api/reminders/RX-1"));
+        assertEquals(error(servletClient, "/api/reminders/NOPE", 404), error(reactiveClient, "/api/reminders/NOPE", 404));
+    }
+    
+    @Test
+    void getAllReminders_MatchesServletBody() {
+        String uri = "/api/reminders?companyNumber=100&sortBy=createdAt&sortDir=ASC";
+        assertEquals(body(servletClient, uri), body(reactiveClient, uri));
+        String filtered = "/api/reminders?status=posted,SENT&companyNumber=100,200"
+                + "&dueFrom=2026-01-02&dueTo=2026-01-03&sortBy=dueDate&sortDir=ASC";
+        assertEquals(body(servletClient, filtered), body(reactiveClient, filtered));
+        reactiveClient.get().uri("/api/reminders?companyNumber=999").exchange().expectStatus().isNotFound();
+    }
+    
+    @Test
+    void unsupportedSort_MatchesServletError() {
+        String uri = "/api/reminders?status=POSTED&sortBy=dueDate";
+        assertEquals(error(servletClient, uri, 400), error(reactiveClient, uri, 400));
+    }
+    
+    @Test
+    void exportReminders_StreamsNdjson() {
+        String export = reactiveClient.get().uri("/api/reminders/export?status=POSTED")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(export);
+        assertEquals(2, export.lines().filter(line -> line.contains("\"RX-")).count());
+    }
+    
+    private static String body(WebTestClient client, String uri) {
+        return client.get().uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+    }
+    
+    private static String error(WebTestClient client, String uri, int status) {
+        return client.get().uri(uri)
+                .exchange()
+                .expectStatus().isEqualTo(status)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+    }
+    
+    private static WebTestClient client(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+    }
+    
+    private static String reminder(String ref, String companyNumber, String dueDate, String status) {
+        return "{\"ref\":\"" + ref + "\",\"companyNumber\":\"" + companyNumber + "\",\"dueDate\":\"" + dueDate
+                + "\",\"reminderLifecycleStatus\":\"" + status + "\"}";
+    }
+}
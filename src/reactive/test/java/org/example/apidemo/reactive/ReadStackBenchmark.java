@@ -0,0 +1,170 @@
+package org.example.apidemo.reactive;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.example.apidemo.ApidemoApplication;
+import org.example.apidemo.dto.ReminderRequest;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.example.apidemo.service.ReminderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Servlet (Tomcat + JPA over Hikari) versus reactive (Netty + R2DBC) read path at high
+ * client concurrency, both against the same embedded database seeded with {@code rows}
+ * reminders. JMH reports the latency distribution (p99 included); at tear-down the peak
+ * number of database connections in use and of server threads are logged, each also
+ * divided by the number of cores. Run with more client threads via {@code -t}:
+ * <pre>
+ *     ./mvnw -Preactive,benchmark test-compile exec:exec -Djmh.args="ReadStackBenchmark -t 256"
+ * </pre>
+ * The servlet by-ref cache is disabled so both stacks reach the database on every call.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class ReadStackBenchmark {
+    
+    private static final ReminderLifecycleStatus[] STATUSES = ReminderLifecycleStatus.values();
+    
+    /** Both applications log at WARN; the peaks reported at tear-down are logged at INFO. */
+    private static final String REPORT_LOGGING = "logging.level." + ReadStackBenchmark.class.getName() + "=INFO";
+    
+    @Param({"servlet", "reactive"})
+    private String stack;
+    
+    @Param({"10000"})
+    private int rows;
+    
+    private ConfigurableApplicationContext servlet;
+    private ConfigurableApplicationContext reactive;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private ScheduledExecutorService sampler;
+    private final AtomicInteger peakConnections = new AtomicInteger();
+    private final AtomicInteger peakServerThreads = new AtomicInteger();
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The servlet application always starts: it migrates the schema and seeds the rows
+        servlet = new SpringApplicationBuilder(ApidemoApplication.class)
+                .profiles("h2")
+                .properties("server.port=0", "reminders.cache.maximum-size=0", "logging.level.root=WARN", REPORT_LOGGING)
+                .run();
+        List<ReminderRequest> seed = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            ReminderRequest request = new ReminderRequest();
+            request.setRef("SEED" + i);
+            request.setCompanyNumber(String.valueOf(i % 1000));
+            request.setDueDate(LocalDate.now().plusDays(i % 60));
+            request.setReminderLifecycleStatus(STATUSES[i % STATUSES.length]);
+            seed.add(request);
+        }
+        servlet.getBean(ReminderService.class).createReminders(seed);
+        
+        IntSupplier connectionsInUse;
+        String serverThreadPrefix;
+        ConfigurableApplicationContext target;
+        if ("reactive".equals(stack)) {
+            reactive = ReactiveReadApplication.builder()
+                    .run("--server.port=0", "--spring.r2dbc.url=" + ReactiveReminderControllerTest.R2DBC_URL,
+                            "--spring.r2dbc.username=sa", "--logging.level.root=WARN", "--" + REPORT_LOGGING);
+            ConnectionPool pool = reactive.getBean(ConnectionPool.class);
+            connectionsInUse = () -> pool.getMetrics().map(PoolMetrics::acquiredSize).orElse(0);
+            serverThreadPrefix = "reactor-http-";
+            target = reactive;
+        } else {
+            HikariDataSource dataSource = servlet.getBean(HikariDataSource.class);
+            connectionsInUse = () -> dataSource.getHikariPoolMXBean().getActiveConnections();
+            serverThreadPrefix = "http-nio-";
+            target = servlet;
+        }
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) target).getWebServer().getPort();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            peakConnections.accumulateAndGet(connectionsInUse.getAsInt(), Math::max);
+            int serverThreads = 0;
+            for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds(), 0)) {
+                if (info != null && info.getThreadName().startsWith(serverThreadPrefix)) {
+                    serverThreads++;
+                }
+            }
+            peakServerThreads.accumulateAndGet(serverThreads, Math::max);
+        }, 0, 20, TimeUnit.MILLISECONDS);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sampler.shutdownNow();
+        int cores = Runtime.getRuntime().availableProcessors();
+        log.info("[{}] peak DB connections in use: {} ({} per core), peak server threads: {} ({} per core)",
+                stack, peakConnections.get(), String.format("%.2f", (double) peakConnections.get() / cores),
+                peakServerThreads.get(), String.format("%.2f", (double) peakServerThreads.get() / cores));
+        if (reactive != null) {
+            reactive.close();
+        }
+        servlet.close();
+    }
+    
+    @Benchmark
+    public String getByReferenceNumber() throws IOException, InterruptedException {
+        return get("/api/reminders/SEED" + ThreadLocalRandom.current().nextInt(rows));
+    }
+    
+    @Benchmark
+    public String getAllReminders() throws IOException, InterruptedException {
+        return get("/api/reminders?companyNumber=" + ThreadLocalRandom.current().nextInt(1000) + "&size=10");
+    }
+    
+    private String get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " answered " + response.statusCode());
+        }
+        return response.body();
+    }
+}
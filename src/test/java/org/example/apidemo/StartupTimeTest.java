@@ -0,0 +1,120 @@
+package org.example.apidemo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Time from launching a JVM to the first successful {@code GET /api/reminders}, with and
+ * without the {@code fast-startup} profile, against the embedded database. Each run is a
+ * fresh process, so class loading is included. It starts two JVMs, so it is skipped in
+ * the regular build. The fast-startup run also uses the AOT initializer when asked to,
+ * after building it:
+ * <pre>
+ *     ./mvnw -Pstartup test
+ *     ./mvnw -Pfast-startup,startup test -Dstartup.aot=true
+ * </pre>
+ * The times are logged and appended to {@code target/startup-times.csv} so they can be
+ * compared between commits. The class data sharing archive only applies to the packaged
+ * jar, so it is not part of this measurement.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "startup.enabled", matches = "true")
+class StartupTimeTest {
+    
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    
+    @Test
+    void timeToFirstListRequest() throws Exception {
+        long standard = timeToFirstRequest("h2", false);
+        boolean aot = Boolean.getBoolean("startup.aot");
+        long fast = timeToFirstRequest("h2,fast-startup", aot);
+        
+        String line = String.format("%s,%d,%d,%b%n", Instant.now(), standard, fast, aot);
+        log.info("Time to first GET /api/reminders: standard {} ms, fast-startup {} ms (AOT {})",
+                standard, fast, aot ? "on" : "off");
+        Path results = Path.of("target", "startup-times.csv");
+        if (!Files.exists(results)) {
+            Files.writeString(results, "timestamp,standardMs,fastStartupMs,aot\n");
+        }
+        Files.writeString(results, line, StandardOpenOption.APPEND);
+    }
+    
+    private long timeToFirstRequest(String profiles, boolean aot) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        // Devtools is on the test classpath but not in the packaged jar; its restart
+        // class loader would load the application twice
+        command.add("-Dspring.devtools.restart.enabled=false");
+        if (aot) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add(ApidemoApplication.class.getName());
+        command.add("--spring.profiles.active=" + profiles);
+        command.add("--server.port=" + port);
+        // Startup includes the documentation beans, served at the production path
+        command.add("--springdoc.api-docs.enabled=true");
+        command.add("--springdoc.api-docs.path=/api-docs");
+        command.add("--logging.level.root=WARN");
+        
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(new File("target", "startup-time-test.log")))
+                .start();
+        try {
+            URI uri = URI.create("http://localhost:" + port + "/api/reminders");
+            while (System.nanoTime() - started < TIMEOUT.toNanos()) {
+                assertTrue(process.isAlive(), "Application exited; see target/startup-time-test.log");
+                if (status(uri) == 200) {
+                    long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+                    // Deferred documentation must still be served once asked for
+                    assertEquals(200, status(URI.create("http://localhost:" + port + "/api-docs")));
+                    return elapsedMs;
+                }
+                Thread.sleep(20);
+            }
+            return fail("No successful GET /api/reminders within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+    
+    private int status(URI uri) throws InterruptedException {
+        try {
+            return httpClient.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding())
+                    .statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+    
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.apidemo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+    
+    private final AtomicLong now = new AtomicLong();
+    
+    @Test
+    void requestsOverTheLimitAreShedWithRetryAfterWhileTheOtherKindIsStillAdmitted() throws Exception {
+        // Given: a read limit of one, held by a request that has not finished
+        AdaptiveConcurrencyLimit reads = new AdaptiveConcurrencyLimit(1, 1, 1, Duration.ofSeconds(1), 0.9);
+        AdaptiveConcurrencyLimit writes = new AdaptiveConcurrencyLimit(1, 1, 1, Duration.ofSeconds(1), 0.9);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(reads, writes, Duration.ofSeconds(2),
+                List.of("/api/reminders/export"));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<Void> held = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/reminders/A"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            entered.countDown();
+                            await(finish);
+                        });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        
+        // When: another read, a write and an excluded read arrive
+        MockHttpServletResponse shed = perform(filter, "GET", "/api/reminders/B");
+        MockHttpServletResponse write = perform(filter, "POST", "/api/reminders");
+        MockHttpServletResponse export = perform(filter, "GET", "/api/reminders/export");
+        
+        // Then: only the read counted against the read limit is refused, without waiting
+        assertEquals(503, shed.getStatus());
+        assertEquals("2", shed.getHeader("Retry-After"));
+        assertEquals(200, write.getStatus());
+        assertEquals(200, export.getStatus());
+        assertEquals(1, reads.getRejected());
+        assertEquals(1, reads.getInFlight());
+        
+        finish.countDown();
+        held.get(5, TimeUnit.SECONDS);
+        assertEquals(0, reads.getInFlight());
+        assertEquals(200, perform(filter, "GET", "/api/reminders/B").getStatus());
+    }
+    
+    @Test
+    void limitGrowsWhileBusyAndFastAndBacksOffOncePerSlowBurst() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 12, Duration.ofMillis(100), 0.5,
+                now::get);
+        
+        // Fast responses with the limit saturated: about one more per limit's worth of requests
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        assertFalse(limit.tryAcquire());
+        for (int i = 0; i < 10; i++) {
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            limit.release(now.get() - TimeUnit.MILLISECONDS.toNanos(10), false);
+            assertTrue(limit.tryAcquire());
+        }
+        assertEquals(10, limit.getLimit());
+        limit.release(now.get(), false);
+        assertEquals(11, limit.getLimit());
+        
+        // A burst of slow responses halves it once, not once per response
+        for (int i = 0; i < 5; i++) {
+            limit.release(now.get() - TimeUnit.MILLISECONDS.toNanos(500), false);
+        }
+        assertEquals(5, limit.getLimit());
+        
+        // A later failure backs off again, down to the minimum and no further
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        limit.release(now.get(), true);
+        assertEquals(2, limit.getLimit());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        limit.release(now.get(), true);
+        assertEquals(2, limit.getLimit());
+    }
+    
+    private static MockHttpServletResponse perform(ConcurrencyLimitFilter filter, String method, String uri)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, (request, ignored) -> { });
+        return response;
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.apidemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Routes between two embedded databases: the primary, which the application migrates and
+ * writes to, and a migrated but empty "replica". A reminder that can be read back shows
+ * the read went to the primary; a 404 shows it went to the replica.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+        "reminders.datasource.replicas.enabled=true",
+        "reminders.datasource.replicas.urls=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "reminders.datasource.replicas.health-check-interval=PT1H",
+        "reminders.cache.maximum-size=0"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+    
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+            + "INIT=CREATE SCHEMA IF NOT EXISTS companies_house_data";
+    
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+            + "INIT=CREATE SCHEMA IF NOT EXISTS companies_house_data";
+    
+    private static final String REMINDER = """
+            {"ref":"RYW-1","companyNumber":"15655987","dueDate":"2026-01-17","reminderLifecycleStatus":"POSTED"}
+            """;
+    
+    static {
+        // The replica gets the schema but none of the rows written during the test
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .schemas("companies_house_data")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Test
+    void readsGoToTheReplicaUnlessTheClientMustSeeItsWrites() throws Exception {
+        // Given: a reminder written through the primary, which sets the last-write cookie
+        Cookie lastWrite = mockMvc.perform(post("/api/reminders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REMINDER))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadConsistencyFilter.LAST_WRITE_COOKIE))
+                .andReturn().getResponse().getCookie(ReadConsistencyFilter.LAST_WRITE_COOKIE);
+        
+        // When/Then: a plain read is served by the replica, which has not seen the write
+        mockMvc.perform(get("/api/reminders/RYW-1"))
+                .andExpect(status().isNotFound());
+        
+        // When/Then: the same client, within the read-your-writes window, reads the primary
+        mockMvc.perform(get("/api/reminders/RYW-1").cookie(lastWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ref").value("RYW-1"));
+        
+        // When/Then: so does any request that asks for it explicitly
+        mockMvc.perform(get("/api/reminders/RYW-1").header(ReadConsistencyFilter.CONSISTENCY_HEADER, "primary"))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void readOnlyTransactionsFallBackToThePrimaryWhenNoReplicaIsReachable() throws Exception {
+        HikariDataSource primary = pool("primary", PRIMARY_URL);
+        HikariDataSource unreachable = pool("replica-down", "jdbc:h2:tcp://localhost:1/nowhere");
+        try (ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, List.of(unreachable),
+                ReadReplicaRoutingDataSource.Balancing.ROUND_ROBIN, Duration.ofHours(1))) {
+            TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(routing));
+            readOnly.setReadOnly(true);
+            
+            // The transaction manager takes the connection before marking the transaction
+            // read-only, so ask for it again inside, as the lazy proxy does
+            String url = readOnly.execute(status -> {
+                try (Connection connection = routing.getConnection()) {
+                    return connection.getMetaData().getURL();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            
+            assertTrue(url.startsWith("jdbc:h2:mem:routing-primary"), url);
+            assertEquals(0, routing.healthyReplicas());
+        }
+    }
+    
+    @Test
+    void onlyThePrimaryIsLimitedOnVirtualThreads() throws Exception {
+        HikariDataSource primary = pool("primary-limited", PRIMARY_URL);
+        primary.setMaximumPoolSize(2);
+        HikariDataSource replica = pool("replica-unlimited", REPLICA_URL);
+        replica.setMaximumPoolSize(2);
+        try (ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, List.of(replica),
+                ReadReplicaRoutingDataSource.Balancing.ROUND_ROBIN, Duration.ofHours(1), true)) {
+            assertEquals(2, routing.primaryLimit().availablePermits());
+            // Behind the lazy proxy, as in the application, so starting the transaction takes no
+            // permit; with its defaults given it does not borrow a connection to look them up either
+            LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(routing);
+            lazy.setDefaultAutoCommit(true);
+            lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(lazy));
+            readOnly.setReadOnly(true);
+            
+            // Given: every primary permit held
+            try (Connection first = routing.getConnection(); Connection second = routing.getConnection()) {
+                assertEquals(0, routing.primaryLimit().availablePermits());
+                
+                // Then: another primary connection waits out the timeout and fails
+                assertThrows(SQLTransientConnectionException.class, routing::getConnection);
+                
+                // But: replica reads are not held up by the primary's permits
+                String url = readOnly.execute(status -> {
+                    try (Connection connection = routing.getConnection()) {
+                        return connection.getMetaData().getURL();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                assertTrue(url.startsWith("jdbc:h2:mem:routing-replica"), url);
+            }
+            assertEquals(2, routing.primaryLimit().availablePermits());
+        }
+    }
+    
+    private static HikariDataSource pool(String name, String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername("sa");
+        pool.setConnectionTimeout(250);
+        return pool;
+    }
+}
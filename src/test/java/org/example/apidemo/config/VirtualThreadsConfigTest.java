@@ -0,0 +1,68 @@
+package org.example.apidemo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The connection limit switched on by {@code spring.threads.virtual.enabled}. Spring Boot
+ * only moves Tomcat onto virtual threads on Java 21, but the limit is applied on any
+ * runtime, so this runs in the Java 17 build too.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:virtual;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+                + "INIT=CREATE SCHEMA IF NOT EXISTS companies_house_data",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.threads.virtual.enabled=true"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class VirtualThreadsConfigTest {
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Test
+    void onlyThePrimaryPoolIsLimited() {
+        ConnectionLimitingDataSource limited = assertInstanceOf(ConnectionLimitingDataSource.class, dataSource);
+        assertInstanceOf(HikariDataSource.class, limited.getTargetDataSource());
+        assertEquals(4, limited.availablePermits());
+        
+        // Any other pool bean keeps its own behaviour
+        try (HikariDataSource other = new HikariDataSource()) {
+            assertSame(other, VirtualThreadsConfig.connectionLimitingDataSourcePostProcessor()
+                    .postProcessAfterInitialization(other, "reportingDataSource"));
+        }
+    }
+    
+    @Test
+    void permitsAreReturnedAfterEachRequest() throws Exception {
+        // When
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get("/api/reminders/VIRTUAL-" + i))
+                    .andExpect(status().isNotFound());
+        }
+        
+        // Then
+        assertEquals(4.0, meterRegistry.get("reminders.datasource.permits.available").gauge().value());
+        assertEquals(0.0, meterRegistry.get("reminders.datasource.permits.waiting").gauge().value());
+    }
+}
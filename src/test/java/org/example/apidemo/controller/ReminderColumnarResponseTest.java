@@ -0,0 +1,129 @@
+package org.example.apidemo.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.apidemo.dto.ReminderColumns;
+import org.example.apidemo.dto.ReminderResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Content negotiation for the columnar listing ({@value ReminderColumns#MEDIA_TYPE}) against
+ * the embedded database: it is only chosen when the Accept header names it, and it carries
+ * the same reminders as the plain JSON array.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:columnar;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+                + "INIT=CREATE SCHEMA IF NOT EXISTS companies_house_data"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class ReminderColumnarResponseTest {
+    
+    private static final String COMPANY = "COLUMNS";
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @BeforeEach
+    void createReminders() throws Exception {
+        if (mockMvc.perform(get("/api/reminders/COL-1")).andReturn().getResponse().getStatus() == 200) {
+            return;
+        }
+        create("COL-1", LocalDate.of(2026, 3, 1), "POSTED");
+        create("COL-2", LocalDate.of(2026, 3, 2), "PENDING");
+        create("COL-3", LocalDate.of(2026, 3, 3), "SENT");
+    }
+    
+    @Test
+    void plainJsonUnlessTheColumnarTypeIsNamed() throws Exception {
+        for (String accept : new String[]{null, "*/*", "application/*", MediaType.APPLICATION_JSON_VALUE,
+                "application/json, " + ReminderColumns.MEDIA_TYPE + ";q=0"}) {
+            list(accept)
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$").isArray())
+                    .andExpect(jsonPath("$.length()").value(3));
+        }
+    }
+    
+    @Test
+    void columnarWhenAcceptNamesIt() throws Exception {
+        for (String accept : new String[]{ReminderColumns.MEDIA_TYPE,
+                "application/json;q=0.9, " + ReminderColumns.MEDIA_TYPE + ";q=0.5"}) {
+            list(accept)
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(ReminderColumns.MEDIA_TYPE))
+                    .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                    .andExpect(jsonPath("$.rows").value(3))
+                    .andExpect(jsonPath("$.ref.length()").value(3))
+                    .andExpect(jsonPath("$.updatedAt.length()").value(3));
+        }
+    }
+    
+    @Test
+    void columnsDecodeToTheSameRemindersAsTheArray() throws Exception {
+        // Given
+        List<ReminderResponse> rows = objectMapper.readValue(body(list(MediaType.APPLICATION_JSON_VALUE)),
+                new TypeReference<>() { });
+        
+        // When
+        ReminderColumns columns = objectMapper.readValue(body(list(ReminderColumns.MEDIA_TYPE)), ReminderColumns.class);
+        
+        // Then: rebuilt row by row, in page order, they match field for field
+        assertEquals(rows, toResponses(columns));
+        assertEquals(columns, ReminderColumns.of(rows));
+        assertEquals(List.of("COL-3", "COL-2", "COL-1"), columns.getRef());
+    }
+    
+    private static List<ReminderResponse> toResponses(ReminderColumns columns) {
+        List<ReminderResponse> responses = new ArrayList<>(columns.getRows());
+        for (int i = 0; i < columns.getRows(); i++) {
+            responses.add(new ReminderResponse(columns.getRef().get(i), columns.getCompanyNumber().get(i),
+                    columns.getDueDate().get(i), columns.getReminderLifecycleStatus().get(i),
+                    columns.getReminderGeneratedAt().get(i), columns.getReminderSentAt().get(i),
+                    columns.getCreatedAt().get(i), columns.getUpdatedAt().get(i)));
+        }
+        return responses;
+    }
+    
+    private ResultActions list(String accept) throws Exception {
+        var request = get("/api/reminders").param("companyNumber", COMPANY);
+        if (accept != null) {
+            request.header(HttpHeaders.ACCEPT, accept);
+        }
+        return mockMvc.perform(request);
+    }
+    
+    private static String body(ResultActions result) throws Exception {
+        return result.andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+    }
+    
+    private void create(String ref, LocalDate dueDate, String status) throws Exception {
+        mockMvc.perform(post("/api/reminders").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ref\":\"" + ref + "\",\"companyNumber\":\"" + COMPANY + "\","
+                                + "\"dueDate\":\"" + dueDate + "\",\"reminderLifecycleStatus\":\"" + status + "\"}"))
+                .andExpect(status().isCreated());
+    }
+}
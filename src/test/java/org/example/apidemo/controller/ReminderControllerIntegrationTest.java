@@ -2,6 +2,7 @@ package org.example.apidemo.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
 import org.example.apidemo.repository.ReminderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +14,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
@@ -139,17 +142,48 @@ class ReminderControllerIntegrationTest {
     }
 
     @Test
-    void testGetAllReminders_EmptyResult() throws Exception {
-        // Given: Request with filter that returns no results
+    void testGetAllReminders_UnknownStatus() throws Exception {
+        // Given: Request with a status that is not a reminder lifecycle status
         
         // When: GET /api/reminders?status=NONEXISTENT
         mockMvc.perform(get("/api/reminders")
                         .param("status", "NONEXISTENT")
                         .contentType(MediaType.APPLICATION_JSON))
+                // Then: The status is rejected instead of matching nothing
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetAllReminders_WithStatusListAndDueDateRange() throws Exception {
+        // Given: Reminders of one company inside and outside the window, in and out of the statuses
+        createReminder("IT-RANGE-1", "IT-RANGE", "2026-01-14", "PENDING");
+        createReminder("IT-RANGE-2", "IT-RANGE", "2026-01-12", "POSTED");
+        createReminder("IT-RANGE-3", "IT-RANGE", "2026-01-18", "POSTED");
+        createReminder("IT-RANGE-SENT", "IT-RANGE", "2026-01-15", "SENT");
+        createReminder("IT-RANGE-EARLY", "IT-RANGE", "2026-01-11", "POSTED");
+        createReminder("IT-RANGE-LATE", "IT-RANGE", "2026-01-19", "PENDING");
+        
+        // When: GET /api/reminders?status=POSTED,PENDING&dueFrom=...&dueTo=...&sortBy=dueDate
+        MvcResult result = mockMvc.perform(get("/api/reminders")
+                        .param("status", "POSTED,PENDING")
+                        .param("companyNumber", "IT-RANGE")
+                        .param("dueFrom", "2026-01-12")
+                        .param("dueTo", "2026-01-18")
+                        .param("sortBy", "dueDate")
+                        .param("sortDir", "ASC")
+                        .param("size", "100")
+                        .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(0));
+                .andReturn();
+        
+        // Then: One query returns exactly the matching reminders, in due date order (bounds inclusive)
+        List<ReminderResponse> reminders = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, ReminderResponse.class));
+        assertEquals(List.of("IT-RANGE-2", "IT-RANGE-1", "IT-RANGE-3"),
+                reminders.stream().map(ReminderResponse::getRef).toList());
+        for (ReminderResponse reminder : reminders) {
+            assertTrue(ReminderLifecycleStatus.ACTIVE.contains(reminder.getReminderLifecycleStatus()));
+        }
     }
 
     @Test
@@ -232,5 +266,172 @@ class ReminderControllerIntegrationTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isArray());
     }
-}
 
+    @Test
+    void testGetAllReminders_KeysetPagination() throws Exception {
+        // Given: Five reminders of one company, more than two pages of two
+        List<String> created = List.of("IT-SEEK-1", "IT-SEEK-2", "IT-SEEK-3", "IT-SEEK-4", "IT-SEEK-5");
+        for (String ref : created) {
+            createReminder(ref, "IT-SEEK", "2026-01-17", "POSTED");
+        }
+
+        // When: The pages are walked from an empty cursor, following X-Next-Cursor
+        MvcResult first = keysetPage("");
+        String nextCursor = first.getResponse().getHeader("X-Next-Cursor");
+        assertNotNull(nextCursor);
+        List<String> firstPage = refs(first);
+        MvcResult second = keysetPage(nextCursor);
+        List<String> secondPage = refs(second);
+        String lastCursor = second.getResponse().getHeader("X-Next-Cursor");
+        assertNotNull(lastCursor);
+        MvcResult third = keysetPage(lastCursor);
+
+        // Then: Each page continues the previous one without overlap, and the last has no cursor
+        assertEquals(2, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertTrue(Collections.disjoint(firstPage, secondPage));
+        List<String> seen = new ArrayList<>(firstPage);
+        seen.addAll(secondPage);
+        seen.addAll(refs(third));
+        assertEquals(created.size(), seen.size());
+        assertTrue(seen.containsAll(created));
+        assertNull(third.getResponse().getHeader("X-Next-Cursor"));
+    }
+
+    @Test
+    void testGetAllReminders_InvalidCursor() throws Exception {
+        // When: GET /api/reminders with a cursor that is not one we issued
+        // Then: 400 with the short error body, not a 500
+        mockMvc.perform(get("/api/reminders")
+                        .param("cursor", "not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    void testExportReminders_UnsupportedFormat() throws Exception {
+        // When: GET /api/reminders/export with a format that is not offered
+        // Then: 400 with the short error body, not a 500
+        mockMvc.perform(get("/api/reminders/export")
+                        .param("format", "XML"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    void testGetAllReminders_UnsupportedSort() throws Exception {
+        // When: GET /api/reminders keyset-paginated by a field that cannot be sought
+        // Then: 400 with the short error body instead of the container's error page
+        mockMvc.perform(get("/api/reminders")
+                        .param("sortBy", "bogus")
+                        .param("cursor", "")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    void testUpdateReminder_StaleIfMatch() throws Exception {
+        // Given: A reminder
+        createReminder("IT-IF-MATCH", "15655987", "2026-01-17", "POSTED");
+
+        // When: PATCH with an If-Match naming a version it never had
+        // Then: 412 with the short error body
+        mockMvc.perform(patch("/api/reminders/IT-IF-MATCH")
+                        .header("If-Match", "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reminderLifecycleStatus\":\"SENT\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+
+    @Test
+    void testPatchReminder_RenameToExistingReference() throws Exception {
+        // Given: Two reminders
+        createReminder("IT-RENAME-A", "15655987", "2026-01-17", "POSTED");
+        createReminder("IT-RENAME-B", "15655987", "2026-01-17", "POSTED");
+
+        // When: One is renamed to the other's reference number
+        // Then: 409, and both are left as they were
+        mockMvc.perform(patch("/api/reminders/IT-RENAME-A")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ref\":\"IT-RENAME-B\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+        assertTrue(reminderRepository.existsByRef("IT-RENAME-A"));
+    }
+
+    @Test
+    void testGetAllReminders_ConditionalRequest() throws Exception {
+        // Given: A listing fetched once, carrying an ETag
+        MvcResult first = mockMvc.perform(get("/api/reminders")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        // When: The same listing is revalidated with If-None-Match
+        // Then: Nothing changed, so 304 with no body
+        mockMvc.perform(get("/api/reminders")
+                        .header("If-None-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testGetReminder_NotFound() throws Exception {
+        // When: GET /api/reminders/{ref} for a reference number that does not exist
+        // Then: 404 with the short error body, not a 500
+        mockMvc.perform(get("/api/reminders/{ref}", "NO-SUCH-REF"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+    @Test
+    void testCreateReminder_DuplicateReference() throws Exception {
+        // Given: A reminder that already exists
+        String body = """
+                {"ref":"DUP-REF-1","companyNumber":"15655987","dueDate":"2026-01-17","reminderLifecycleStatus":"POSTED"}
+                """;
+        mockMvc.perform(post("/api/reminders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+
+        // When: The same reference number is posted again
+        // Then: 409 Conflict
+        mockMvc.perform(post("/api/reminders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    private void createReminder(String ref, String companyNumber, String dueDate, String status) throws Exception {
+        mockMvc.perform(post("/api/reminders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ref\":\"" + ref + "\",\"companyNumber\":\"" + companyNumber + "\","
+                                + "\"dueDate\":\"" + dueDate + "\",\"reminderLifecycleStatus\":\"" + status + "\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    private MvcResult keysetPage(String cursor) throws Exception {
+        return mockMvc.perform(get("/api/reminders")
+                        .param("companyNumber", "IT-SEEK")
+                        .param("cursor", cursor)
+                        .param("size", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private List<String> refs(MvcResult result) throws Exception {
+        List<ReminderResponse> reminders = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, ReminderResponse.class));
+        return reminders.stream().map(ReminderResponse::getRef).toList();
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.apidemo.controller;
+
+import org.example.apidemo.ApidemoApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of requests for references that do not exist, over HTTP against an empty
+ * embedded database, the way retries and scanners hit the API. Every call is a miss, so
+ * the result is dominated by how an error is built, resolved, logged and written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ReminderNotFoundBenchmark {
+    
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private final AtomicLong sequence = new AtomicLong();
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApidemoApplication.class)
+                .profiles("h2")
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public int getMissingReminder() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri()).GET());
+    }
+    
+    @Benchmark
+    public int deleteMissingReminder() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri()).DELETE());
+    }
+    
+    private URI uri() {
+        return URI.create(baseUrl + "/api/reminders/MISSING" + sequence.incrementAndGet());
+    }
+    
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() < 400) {
+            throw new IllegalStateException(response.uri() + " answered " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.apidemo.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization of a page of {@link ReminderResponse}s in each format the list endpoint
+ * negotiates, with mappers configured the way Spring MVC configures its message
+ * converters. {@code serializeAndGzipPage} adds the response compression applied to
+ * large pages. Payload sizes, plain and gzipped, are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReminderResponseSerializationBenchmark {
+    
+    public enum Format {
+        JSON,
+        COLUMNAR,
+        CBOR,
+        SMILE
+    }
+    
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+    
+    @Param({"JSON", "COLUMNAR", "CBOR", "SMILE"})
+    private Format format;
+    
+    private ObjectWriter writer;
+    private List<ReminderResponse> page;
+    
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = switch (format) {
+            case JSON, COLUMNAR -> Jackson2ObjectMapperBuilder.json().build();
+            case CBOR -> Jackson2ObjectMapperBuilder.cbor().build();
+            case SMILE -> Jackson2ObjectMapperBuilder.smile().build();
+        };
+        writer = format == Format.COLUMNAR
+                ? objectMapper.writerFor(ReminderColumns.class)
+                : objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, ReminderResponse.class));
+        
+        LocalDateTime timestamp = LocalDateTime.of(2025, 12, 3, 9, 0, 10, 123456000);
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            LocalDateTime rowTimestamp = timestamp.plusSeconds(i * 37L).plusNanos(i * 1001000L);
+            ReminderLifecycleStatus status = i % 3 == 0 ? ReminderLifecycleStatus.SENT : ReminderLifecycleStatus.POSTED;
+            page.add(new ReminderResponse(String.valueOf(26011715600000L + i * 7919L), String.valueOf(15600000 + i * 13),
+                    LocalDate.of(2026, 1, 17).plusDays(i % 90), status,
+                    rowTimestamp, i % 3 == 0 ? rowTimestamp.plusHours(1) : null, rowTimestamp, rowTimestamp));
+        }
+        
+        byte[] plain = serializePage();
+        System.out.printf("%n%s, %d rows: %d bytes, %d bytes gzipped%n",
+                format, pageSize, plain.length, gzip(plain).length);
+    }
+    
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return writer.writeValueAsBytes(format == Format.COLUMNAR ? ReminderColumns.of(page) : page);
+    }
+    
+    @Benchmark
+    public byte[] serializeAndGzipPage() throws IOException {
+        return gzip(serializePage());
+    }
+    
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
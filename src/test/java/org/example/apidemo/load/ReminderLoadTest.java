@@ -0,0 +1,316 @@
+package org.example.apidemo.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.example.apidemo.ApidemoApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load and soak test: starts the application on an embedded database seeded with
+ * {@code load.rows} reminders and drives a weighted mix of requests at a fixed arrival
+ * rate. Requests are sent on schedule whether or not earlier ones have answered (an open
+ * model), and latency is measured from the scheduled start, so a stall shows up as the
+ * queueing it causes instead of being hidden by coordinated omission. Reports throughput
+ * and latency percentiles per operation and fails when an operation's p99 exceeds its
+ * budget or too many requests fail. Requests shed with 503 (by the concurrency limit)
+ * are counted apart and left out of the percentiles, which then describe the admitted
+ * requests; run with {@code -Dreminders.concurrency-limit.enabled=true} and a rate above
+ * capacity to see the limit hold their p99.
+ * <pre>
+ *     ./mvnw -Pload test
+ *     ./mvnw -Pload test -Dload.rows=1000000 -Dload.rate=500 -Dload.duration=PT5M
+ *     ./mvnw -Pload test -Dload.duration=PT2H -Dload.rate=100     (soak)
+ * </pre>
+ * Settings (system properties): {@code load.rows}, {@code load.companies},
+ * {@code load.rate} (requests per second), {@code load.warmup}, {@code load.duration},
+ * {@code load.mix} ({@code operation:weight,...}), {@code load.p99-ms.<operation>},
+ * {@code load.max-error-rate}, {@code load.max-shed-rate} and {@code load.seed}.
+ */
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+class ReminderLoadTest {
+    
+    private static final int ROWS = Integer.getInteger("load.rows", 100_000);
+    private static final int COMPANIES = Integer.getInteger("load.companies", 10_000);
+    private static final int RATE = Integer.getInteger("load.rate", 200);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT15S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT60S"));
+    private static final String MIX = System.getProperty("load.mix", "get:50,list:25,create:10,patch:10,delete:5");
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+    private static final double MAX_SHED_RATE = Double.parseDouble(System.getProperty("load.max-shed-rate", "0.01"));
+    private static final long SEED = Long.getLong("load.seed", 42);
+    
+    /** Default p99 budgets in milliseconds, overridden by {@code load.p99-ms.<operation>}. */
+    private static final Map<String, Long> DEFAULT_P99_MS = Map.of(
+            "get", 50L, "list", 200L, "create", 100L, "patch", 100L, "delete", 100L);
+    
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    
+    private static ConfigurableApplicationContext context;
+    private static String baseUrl;
+    
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    private final Queue<String> created = new ConcurrentLinkedQueue<>();
+    private final AtomicLong createSequence = new AtomicLong();
+    /** Deletes fall back to seeded refs from the top down; reads and patches use the bottom half. */
+    private final AtomicLong seededToDelete = new AtomicLong(ROWS);
+    
+    @BeforeAll
+    static void startAndSeed() {
+        context = new SpringApplicationBuilder(ApidemoApplication.class)
+                .profiles("h2")
+                .properties("server.port=0", "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:load;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+                                + "INIT=CREATE SCHEMA IF NOT EXISTS companies_house_data")
+                .run();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        
+        long started = System.nanoTime();
+        context.getBean(JdbcTemplate.class).update("""
+                INSERT INTO companies_house_data.reminders (ref, company_number, due_date,
+                        reminder_lifecycle_status, reminder_generated_at, created_at, updated_at)
+                SELECT 'LOAD' || x, CAST(MOD(x, ?) AS VARCHAR), DATEADD('DAY', MOD(x, 365), DATE '2026-01-01'),
+                       1 + MOD(x, 4), TIMESTAMP '2025-12-01 00:00:00', TIMESTAMP '2025-12-01 00:00:00',
+                       DATEADD('SECOND', x, TIMESTAMP '2025-12-01 00:00:00')
+                FROM SYSTEM_RANGE(0, ?) AS r(x)
+                """, COMPANIES, ROWS - 1);
+        System.out.printf("Seeded %,d reminders over %,d companies in %d ms%n",
+                ROWS, COMPANIES, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+    
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+    
+    @Test
+    void mixedTrafficMeetsLatencyBudgets() throws Exception {
+        operation("get", 200, random -> get("/api/reminders/LOAD" + random.nextInt(ROWS / 2)));
+        operation("list", 200, random -> get("/api/reminders?companyNumber=" + random.nextInt(COMPANIES)
+                + "&status=POSTED,PENDING&size=20"), 404);
+        operation("create", 201, random -> {
+            String ref = "NEW" + createSequence.incrementAndGet();
+            return new Call(request("/api/reminders")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json(ref, random))).build(),
+                    () -> created.add(ref));
+        });
+        operation("patch", 200, random -> new Call(request("/api/reminders/LOAD" + random.nextInt(ROWS / 2))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                        "{\"reminderLifecycleStatus\":\"" + (random.nextBoolean() ? "SENT" : "PENDING") + "\"}"))
+                .build()));
+        operation("delete", 204, random -> {
+            String ref = created.poll();
+            if (ref == null) {
+                ref = "LOAD" + seededToDelete.decrementAndGet();
+            }
+            return new Call(request("/api/reminders/" + ref).DELETE().build());
+        });
+        List<Operation> schedule = weightedSchedule();
+        
+        System.out.printf("Offering %d requests/s for %s after %s of warm-up, mix %s%n", RATE, DURATION, WARMUP, MIX);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long total = (WARMUP.toNanos() + DURATION.toNanos()) / intervalNanos;
+        long warmupRequests = WARMUP.toNanos() / intervalNanos;
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        long maxSendLagNanos = 0;
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                maxSendLagNanos = Math.max(maxSendLagNanos, -wait);
+            }
+            Operation operation = schedule.get(random.nextInt(schedule.size()));
+            pending.add(operation.send(random, intended, i >= warmupRequests));
+            if (pending.size() > 10_000) {
+                pending.removeIf(CompletableFuture::isDone);
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                .get(REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS);
+        
+        System.out.printf("Generator fell behind schedule by at most %d ms%n", TimeUnit.NANOSECONDS.toMillis(maxSendLagNanos));
+        System.out.println(report());
+        assertAll(operations.values().stream().map(operation -> () -> operation.assertWithinBudget()));
+    }
+    
+    private void operation(String name, int expectedStatus, RequestFactory factory, int... alsoAccepted) {
+        long budget = Long.getLong("load.p99-ms." + name, DEFAULT_P99_MS.get(name));
+        operations.put(name, new Operation(name, factory, expectedStatus, alsoAccepted, budget));
+    }
+    
+    private List<Operation> weightedSchedule() {
+        List<Operation> schedule = new ArrayList<>();
+        for (String entry : MIX.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Operation operation = operations.get(parts[0]);
+            assertNotNull(operation, "Unknown operation in load.mix: " + parts[0]);
+            for (int i = 0; i < Integer.parseInt(parts[1]); i++) {
+                schedule.add(operation);
+            }
+        }
+        return schedule;
+    }
+    
+    private String report() {
+        StringBuilder report = new StringBuilder(String.format("%-8s %9s %9s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "req/s", "errors", "shed", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "budget"));
+        double seconds = DURATION.toNanos() / 1e9;
+        for (Operation operation : operations.values()) {
+            Histogram histogram = operation.histogram();
+            report.append(String.format("%-8s %9d %9.1f %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %9d%n",
+                    operation.name, histogram.getTotalCount(), histogram.getTotalCount() / seconds, operation.errors.get(),
+                    operation.shed.get(),
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0, operation.p99BudgetMs));
+        }
+        return report.toString();
+    }
+    
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+    
+    private static Call get(String path) {
+        return new Call(request(path).GET().build());
+    }
+    
+    private static HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+    
+    private String json(String ref, SplittableRandom random) {
+        return "{\"ref\":\"" + ref + "\",\"companyNumber\":\"" + random.nextInt(COMPANIES)
+                + "\",\"dueDate\":\"2026-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10)
+                + "\",\"reminderLifecycleStatus\":\"POSTED\"}";
+    }
+    
+    @FunctionalInterface
+    private interface RequestFactory {
+        Call create(SplittableRandom random);
+    }
+    
+    /** A request and what to remember once it succeeds. */
+    private record Call(HttpRequest request, Runnable onSuccess) {
+        
+        private Call(HttpRequest request) {
+            this(request, () -> { });
+        }
+    }
+    
+    private final class Operation {
+    
+        private final String name;
+        private final RequestFactory factory;
+        private final int expectedStatus;
+        private final int[] alsoAccepted;
+        private final long p99BudgetMs;
+        private final Recorder recorder = new Recorder(MAX_TRACKABLE_MICROS, 3);
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong shed = new AtomicLong();
+        private final AtomicLong requests = new AtomicLong();
+        private Histogram histogram;
+        
+        private Operation(String name, RequestFactory factory, int expectedStatus, int[] alsoAccepted, long p99BudgetMs) {
+            this.name = name;
+            this.factory = factory;
+            this.expectedStatus = expectedStatus;
+            this.alsoAccepted = alsoAccepted;
+            this.p99BudgetMs = p99BudgetMs;
+        }
+        
+        /** Latency runs from {@code intendedNanos}, the scheduled send time, to the response. */
+        private CompletableFuture<?> send(SplittableRandom random, long intendedNanos, boolean measured) {
+            Call call = factory.create(random);
+            return httpClient.sendAsync(call.request(), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos);
+                        boolean ok = failure == null && accepted(response.statusCode());
+                        if (ok) {
+                            call.onSuccess().run();
+                        }
+                        if (measured) {
+                            requests.incrementAndGet();
+                            if (failure == null && response.statusCode() == 503) {
+                                shed.incrementAndGet();
+                                return null;
+                            }
+                            recorder.recordValue(Math.min(micros, MAX_TRACKABLE_MICROS));
+                            if (!ok) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    });
+        }
+        
+        private boolean accepted(int status) {
+            if (status == expectedStatus) {
+                return true;
+            }
+            for (int accepted : alsoAccepted) {
+                if (status == accepted) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private Histogram histogram() {
+            if (histogram == null) {
+                histogram = recorder.getIntervalHistogram();
+            }
+            return histogram;
+        }
+        
+        private void assertWithinBudget() {
+            Histogram histogram = histogram();
+            double p99Ms = millis(histogram, 99);
+            assertTrue(p99Ms <= p99BudgetMs,
+                    () -> String.format("%s p99 %.2f ms exceeds its budget of %d ms", name, p99Ms, p99BudgetMs));
+            long count = requests.get();
+            double errorRate = count == 0 ? 0 : (double) errors.get() / count;
+            assertTrue(errorRate <= MAX_ERROR_RATE,
+                    () -> String.format("%s failed %d of %d requests (%.2f%%)", name, errors.get(), count, errorRate * 100));
+            double shedRate = count == 0 ? 0 : (double) shed.get() / count;
+            assertTrue(shedRate <= MAX_SHED_RATE,
+                    () -> String.format("%s shed %d of %d requests (%.2f%%)", name, shed.get(), count, shedRate * 100));
+        }
+    }
+}
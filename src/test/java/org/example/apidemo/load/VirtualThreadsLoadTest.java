@@ -0,0 +1,242 @@
+package org.example.apidemo.load;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.example.apidemo.ApidemoApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Platform threads against virtual threads with many concurrent clients. For each mode the
+ * application is started on an embedded database seeded with {@code load.rows} reminders,
+ * then for each count in {@code load.clients} that many clients each send a request, wait
+ * for the answer and send the next (a closed model), for {@code load.duration} after
+ * {@code load.warmup}. The mix is mostly reads by ref and company, with some patches.
+ * Reports throughput, errors and latency percentiles per mode and client count; with a
+ * closed model throughput is the figure to compare, since a slow server also slows the
+ * rate at which requests are offered.
+ * <p>
+ * During the virtual-thread runs JFR records {@code jdk.VirtualThreadPinned} events (pinned
+ * for at least {@code load.pin-threshold}). Each is attributed to the innermost frame
+ * outside the JDK; the test fails when that frame is in this application and reports the
+ * rest (driver, pool) so they can be weighed separately. Needs a Java 21 build:
+ * <pre>
+ *     ./mvnw -Pjava21,load test -Dload.test=VirtualThreadsLoadTest
+ *     ./mvnw -Pjava21,load test -Dload.test=VirtualThreadsLoadTest -Dload.clients=1000,10000 -Dload.duration=PT2M
+ * </pre>
+ * Raise the open-file limit first: every client holds a connection on both ends.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadsLoadTest {
+    
+    private static final int ROWS = Integer.getInteger("load.rows", 100_000);
+    private static final int COMPANIES = Integer.getInteger("load.companies", 10_000);
+    private static final int[] CLIENTS = Arrays.stream(System.getProperty("load.clients", "1000,2500,5000,10000").split(","))
+            .map(String::trim).mapToInt(Integer::parseInt).toArray();
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT15S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT60S"));
+    private static final Duration PIN_THRESHOLD = Duration.parse(System.getProperty("load.pin-threshold", "PT0.02S"));
+    private static final long SEED = Long.getLong("load.seed", 42);
+    
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+    
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    
+    @Test
+    void virtualThreadsAgainstPlatformThreads() throws Exception {
+        List<String> results = new ArrayList<>();
+        results.add(String.format("%-9s %8s %10s %9s %7s %9s %9s %9s %9s",
+                "threads", "clients", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        
+        run(false, results);
+        
+        Map<String, Long> pinnedBy = new ConcurrentHashMap<>();
+        Map<String, String> sampleStacks = new ConcurrentHashMap<>();
+        AtomicInteger flushes = new AtomicInteger();
+        try (RecordingStream pinning = new RecordingStream()) {
+            pinning.enable(PINNED).withThreshold(PIN_THRESHOLD).withStackTrace();
+            pinning.onEvent(PINNED, event -> {
+                String culprit = culprit(event);
+                pinnedBy.merge(culprit, 1L, Long::sum);
+                sampleStacks.computeIfAbsent(culprit, key -> stack(event));
+            });
+            pinning.onFlush(flushes::incrementAndGet);
+            pinning.startAsync();
+            
+            run(true, results);
+            
+            // Events are delivered on flush, about once a second; wait for two more
+            int seen = flushes.get();
+            while (flushes.get() < seen + 2) {
+                Thread.sleep(100);
+            }
+        }
+        
+        log.info("Platform against virtual threads, {} warm-up then {} per client count:\n{}",
+                WARMUP, DURATION, String.join("\n", results));
+        log.info("Virtual threads pinned for {} or more: {}", PIN_THRESHOLD,
+                pinnedBy.isEmpty() ? "none" : pinnedBy.entrySet().stream()
+                        .map(entry -> entry.getValue() + " at " + entry.getKey() + "\n" + sampleStacks.get(entry.getKey()))
+                        .collect(Collectors.joining("\n")));
+        List<String> inApplication = pinnedBy.keySet().stream()
+                .filter(culprit -> culprit.startsWith("org.example.apidemo."))
+                .toList();
+        assertTrue(inApplication.isEmpty(), () -> "Virtual threads pinned in application code: " + inApplication);
+    }
+    
+    private void run(boolean virtualThreads, List<String> results) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtualThreads)) {
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            for (int clients : CLIENTS) {
+                Recorder recorder = new Recorder(MAX_TRACKABLE_MICROS, 3);
+                AtomicLong errors = new AtomicLong();
+                drive(baseUrl, clients, WARMUP, new Recorder(MAX_TRACKABLE_MICROS, 3), new AtomicLong());
+                drive(baseUrl, clients, DURATION, recorder, errors);
+                
+                Histogram histogram = recorder.getIntervalHistogram();
+                results.add(String.format("%-9s %8d %10d %9.1f %7d %9.2f %9.2f %9.2f %9.2f",
+                        virtualThreads ? "virtual" : "platform", clients, histogram.getTotalCount(),
+                        histogram.getTotalCount() / (DURATION.toNanos() / 1e9), errors.get(),
+                        millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                        histogram.getMaxValue() / 1000.0));
+            }
+        }
+    }
+    
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        // As arguments rather than default properties, so they win over the h2 profile's database
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ApidemoApplication.class)
+                .profiles("h2")
+                .run("--server.port=0", "--logging.level.root=WARN", "--logging.level.org.example.apidemo.load=INFO",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        // Accept every client; request threads, or the connection limit, are what is compared
+                        "--server.tomcat.max-connections=" + (Arrays.stream(CLIENTS).max().orElseThrow() + 1000),
+                        "--server.tomcat.accept-count=1000",
+                        "--spring.datasource.url=jdbc:h2:mem:threads-" + virtualThreads + ";MODE=PostgreSQL;"
+                                + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;"
+                                + "DB_CLOSE_ON_EXIT=FALSE;INIT=CREATE SCHEMA IF NOT EXISTS companies_house_data");
+        context.getBean(JdbcTemplate.class).update("""
+                INSERT INTO companies_house_data.reminders (ref, company_number, due_date,
+                        reminder_lifecycle_status, reminder_generated_at, created_at, updated_at)
+                SELECT 'LOAD' || x, CAST(MOD(x, ?) AS VARCHAR), DATEADD('DAY', MOD(x, 365), DATE '2026-01-01'),
+                       1 + MOD(x, 4), TIMESTAMP '2025-12-01 00:00:00', TIMESTAMP '2025-12-01 00:00:00',
+                       DATEADD('SECOND', x, TIMESTAMP '2025-12-01 00:00:00')
+                FROM SYSTEM_RANGE(0, ?) AS r(x)
+                """, COMPANIES, ROWS - 1);
+        return context;
+    }
+    
+    /** Runs {@code clients} closed-loop clients until {@code duration} has passed. */
+    private void drive(String baseUrl, int clients, Duration duration, Recorder recorder, AtomicLong errors)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        SplittableRandom seeds = new SplittableRandom(SEED);
+        List<CompletableFuture<Void>> running = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            next(baseUrl, seeds.split(), deadline, recorder, errors, done);
+            running.add(done);
+        }
+        CompletableFuture.allOf(running.toArray(CompletableFuture[]::new))
+                .get(duration.toSeconds() + REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS);
+    }
+    
+    private void next(String baseUrl, SplittableRandom random, long deadline, Recorder recorder, AtomicLong errors,
+                      CompletableFuture<Void> done) {
+        if (System.nanoTime() >= deadline) {
+            done.complete(null);
+            return;
+        }
+        long started = System.nanoTime();
+        httpClient.sendAsync(request(baseUrl, random), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started),
+                            MAX_TRACKABLE_MICROS));
+                    if (failure != null || response.statusCode() >= 400 && response.statusCode() != 404) {
+                        errors.incrementAndGet();
+                    }
+                    next(baseUrl, random, deadline, recorder, errors, done);
+                });
+    }
+    
+    /** 70% reads by ref, 20% company listings, 10% status patches. */
+    private static HttpRequest request(String baseUrl, SplittableRandom random) {
+        int pick = random.nextInt(10);
+        if (pick < 7) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/reminders/LOAD" + random.nextInt(ROWS)))
+                    .timeout(REQUEST_TIMEOUT).GET().build();
+        }
+        if (pick < 9) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/reminders?companyNumber="
+                            + random.nextInt(COMPANIES) + "&size=20"))
+                    .timeout(REQUEST_TIMEOUT).GET().build();
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/reminders/LOAD" + random.nextInt(ROWS)))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                        "{\"reminderLifecycleStatus\":\"" + (random.nextBoolean() ? "SENT" : "PENDING") + "\"}"))
+                .build();
+    }
+    
+    /** The innermost frame outside the JDK, where the pinned thread was parked or blocked. */
+    private static String culprit(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .filter(method -> !method.startsWith("java.") && !method.startsWith("jdk.") && !method.startsWith("sun."))
+                .findFirst()
+                .orElse("JDK");
+    }
+    
+    private static String stack(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .limit(20)
+                .map(frame -> "    at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+    
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.apidemo.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.apidemo.service.ReminderSortPlanner;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN for every filter/sort combination allowed by {@link ReminderSortPlanner}
+ * against a migrated PostgreSQL database and checks that none of them is planned as a
+ * sequential scan feeding a sort.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReminderQueryPlanTest {
+
+    private static final Map<String, String> COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "dueDate", "due_date",
+            "ref", "ref");
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        Flyway.configure()
+                .dataSource(dataSource)
+                .schemas("companies_house_data")
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                INSERT INTO companies_house_data.reminders
+                    (ref, company_number, due_date, reminder_lifecycle_status, reminder_generated_at, created_at, updated_at)
+                SELECT 'R' || n,
+                       (n % 5000)::text,
+                       DATE '2026-01-01' + (n % 365),
+                       (1 + n % 4)::smallint,
+                       now(),
+                       TIMESTAMP '2025-01-01' + n * INTERVAL '1 second',
+                       TIMESTAMP '2025-01-01' + n * INTERVAL '1 second'
+                FROM generate_series(1, 200000) AS n
+                """);
+        jdbcTemplate.execute("ANALYZE companies_house_data.reminders");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> allowedOrderingsAvoidSeqScanAndSort() {
+        List<DynamicTest> tests = new ArrayList<>();
+        ReminderSortPlanner.allowedSorts().forEach((filters, sortFields) -> {
+            for (String sortField : sortFields) {
+                for (String direction : List.of("ASC", "DESC")) {
+                    String sql = listingQuery(filters, sortField, direction);
+                    tests.add(DynamicTest.dynamicTest(filters + " ORDER BY " + sortField + " " + direction,
+                            () -> assertNoSeqScanFeedingSort(sql)));
+                }
+            }
+        });
+        return tests.stream();
+    }
+
+    private String listingQuery(Set<ReminderSortPlanner.Filter> filters, String sortField, String direction) {
+        List<String> predicates = new ArrayList<>();
+        if (filters.contains(ReminderSortPlanner.Filter.STATUS)) {
+            predicates.add("reminder_lifecycle_status IN (1, 4)");
+        }
+        if (filters.contains(ReminderSortPlanner.Filter.COMPANY_NUMBER)) {
+            predicates.add("company_number = '42'");
+        }
+        if (filters.contains(ReminderSortPlanner.Filter.DUE_DATE)) {
+            predicates.add("due_date BETWEEN DATE '2026-03-02' AND DATE '2026-03-08'");
+        }
+        String where = predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+        String orderBy = "ref".equals(sortField)
+                ? "ref " + direction
+                : COLUMNS.get(sortField) + " " + direction + ", ref " + direction;
+        return "SELECT * FROM companies_house_data.reminders" + where + " ORDER BY " + orderBy + " LIMIT 10";
+    }
+
+    private void assertNoSeqScanFeedingSort(String sql) throws Exception {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class);
+        JsonNode plan = objectMapper.readTree(json).get(0).get("Plan");
+        assertFalse(hasSeqScanUnderSort(plan, false), () -> "Sequential scan + sort for: " + sql + "\n" + json);
+    }
+
+    private boolean hasSeqScanUnderSort(JsonNode node, boolean underSort) {
+        String nodeType = node.get("Node Type").asText();
+        boolean sorting = underSort || nodeType.contains("Sort");
+        if (sorting && "Seq Scan".equals(nodeType)) {
+            return true;
+        }
+        JsonNode children = node.get("Plans");
+        if (children != null) {
+            for (JsonNode child : children) {
+                if (hasSeqScanUnderSort(child, sorting)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
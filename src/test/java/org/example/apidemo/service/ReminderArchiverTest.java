@@ -0,0 +1,90 @@
+package org.example.apidemo.service;
+
+import org.example.apidemo.repository.ReminderArchiveRepository;
+import org.example.apidemo.repository.ReminderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+                + "INIT=CREATE SCHEMA IF NOT EXISTS companies_house_data",
+        "reminders.archive.enabled=true",
+        "reminders.archive.retention=P30D",
+        "reminders.archive.batch-size=2",
+        "reminders.archive.initial-delay=PT1H"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class ReminderArchiverTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ReminderArchiver archiver;
+    
+    @Autowired
+    private ReminderRepository reminderRepository;
+    
+    @Autowired
+    private ReminderArchiveRepository archiveRepository;
+    
+    @Test
+    void oldDeliveredRemindersMoveToTheArchiveAndAreStillFoundByRef() throws Exception {
+        // Given: old DELIVERED reminders (more than one batch), a recent one and an old undelivered one
+        LocalDate old = LocalDate.now().minusDays(90);
+        create("ARCH-1", old, "DELIVERED");
+        create("ARCH-2", old.plusDays(1), "DELIVERED");
+        create("ARCH-3", old.minusMonths(2), "DELIVERED");
+        create("ARCH-RECENT", LocalDate.now().minusDays(5), "DELIVERED");
+        create("ARCH-POSTED", old, "POSTED");
+        
+        // When
+        archiver.archiveDelivered();
+        
+        // Then: only the old DELIVERED ones moved, all batches of them
+        assertFalse(reminderRepository.findResponseByRef("ARCH-1").isPresent());
+        assertFalse(reminderRepository.findResponseByRef("ARCH-3").isPresent());
+        assertTrue(archiveRepository.findResponseByRef("ARCH-2").isPresent());
+        assertTrue(reminderRepository.findResponseByRef("ARCH-RECENT").isPresent());
+        assertTrue(reminderRepository.findResponseByRef("ARCH-POSTED").isPresent());
+        assertEquals(3, archiveRepository.count());
+        
+        // And: an archived reminder is still served by ref, but no longer listed or changeable
+        mockMvc.perform(get("/api/reminders/ARCH-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reminderLifecycleStatus").value("DELIVERED"))
+                .andExpect(jsonPath("$.dueDate").value(old.toString()));
+        mockMvc.perform(get("/api/reminders").param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$..ref", not(hasItem("ARCH-1"))))
+                .andExpect(jsonPath("$..ref", hasItem("ARCH-RECENT")));
+        mockMvc.perform(delete("/api/reminders/ARCH-1"))
+                .andExpect(status().isNotFound());
+        
+        // And: a second run has nothing left to move
+        archiver.archiveDelivered();
+        assertEquals(3, archiveRepository.count());
+    }
+    
+    private void create(String ref, LocalDate dueDate, String status) throws Exception {
+        mockMvc.perform(post("/api/reminders").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ref\":\"" + ref + "\",\"companyNumber\":\"15655987\","
+                                + "\"dueDate\":\"" + dueDate + "\",\"reminderLifecycleStatus\":\"" + status + "\"}"))
+                .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,190 @@
+package org.example.apidemo.service;
+
+import org.example.apidemo.config.CacheConfig;
+import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.example.apidemo.repository.ReminderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The {@code remindersByRef} cache in front of {@code GET /api/reminders/{ref}}: reads
+ * after the first are answered without a query, and every kind of write drops the
+ * entries it makes stale before the next read.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+                + "INIT=CREATE SCHEMA IF NOT EXISTS companies_house_data",
+        "reminders.dispatch.enabled=true",
+        "reminders.dispatch.initial-delay=PT1H"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class ReminderCacheTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private ReminderDispatcher dispatcher;
+    
+    @SpyBean
+    private ReminderRepository reminderRepository;
+    
+    private Cache cache;
+    
+    @BeforeEach
+    void clearCache() {
+        cache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.REMINDERS_BY_REF));
+        cache.clear();
+    }
+    
+    @Test
+    void secondReadIsServedFromTheCache() throws Exception {
+        // Given
+        create("CACHE-READ", "CACHE-R", LocalDate.now().plusDays(5), "POSTED");
+        clearInvocations(reminderRepository);
+        
+        // When
+        read("CACHE-READ", "POSTED");
+        read("CACHE-READ", "POSTED");
+        
+        // Then: only the first read reached the database
+        verify(reminderRepository, times(1)).findResponseByRef("CACHE-READ");
+        assertNotNull(cache.get("CACHE-READ"));
+    }
+    
+    @Test
+    void missesAreNotCached() throws Exception {
+        // Given: a read for a ref that does not exist yet
+        mockMvc.perform(get("/api/reminders/CACHE-LATER"))
+                .andExpect(status().isNotFound());
+        
+        // When
+        create("CACHE-LATER", "CACHE-R", LocalDate.now().plusDays(5), "POSTED");
+        
+        // Then
+        read("CACHE-LATER", "POSTED");
+    }
+    
+    @Test
+    void updatesAndDeletesEvictTheirRef() throws Exception {
+        // Given
+        create("CACHE-UPD", "CACHE-U", LocalDate.now().plusDays(5), "POSTED");
+        read("CACHE-UPD", "POSTED");
+        
+        // When / Then: each write is visible to the next read
+        mockMvc.perform(patch("/api/reminders/CACHE-UPD").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reminderLifecycleStatus\":\"SENT\"}"))
+                .andExpect(status().isOk());
+        read("CACHE-UPD", "SENT");
+        
+        mockMvc.perform(put("/api/reminders/CACHE-UPD").contentType(MediaType.APPLICATION_JSON)
+                        .content(json("CACHE-UPD", "CACHE-U", LocalDate.now().plusDays(5), "DELIVERED")))
+                .andExpect(status().isOk());
+        read("CACHE-UPD", "DELIVERED");
+        
+        mockMvc.perform(delete("/api/reminders/CACHE-UPD"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/reminders/CACHE-UPD"))
+                .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void renameEvictsTheOldAndTheNewRef() throws Exception {
+        // Given: the old ref cached, and a stale entry under the new ref, as a read racing
+        // an earlier write of that ref could have left behind
+        create("CACHE-OLD", "CACHE-N", LocalDate.now().plusDays(5), "POSTED");
+        read("CACHE-OLD", "POSTED");
+        cache.put("CACHE-NEW", new ReminderResponse("CACHE-NEW", "CACHE-STALE", LocalDate.now(),
+                ReminderLifecycleStatus.PENDING, null, null, LocalDateTime.now(), LocalDateTime.now()));
+        
+        // When
+        mockMvc.perform(patch("/api/reminders/CACHE-OLD").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ref\":\"CACHE-NEW\",\"reminderLifecycleStatus\":\"SENT\"}"))
+                .andExpect(status().isOk());
+        
+        // Then
+        assertNull(cache.get("CACHE-OLD"));
+        assertNull(cache.get("CACHE-NEW"));
+        mockMvc.perform(get("/api/reminders/CACHE-OLD"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/reminders/CACHE-NEW"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.companyNumber").value("CACHE-N"))
+                .andExpect(jsonPath("$.reminderLifecycleStatus").value("SENT"));
+    }
+    
+    @Test
+    void bulkTransitionEvictsTheRemindersItMoved() throws Exception {
+        // Given
+        create("CACHE-BULK-1", "CACHE-B", LocalDate.now().plusDays(5), "POSTED");
+        create("CACHE-BULK-2", "CACHE-B", LocalDate.now().plusDays(6), "POSTED");
+        read("CACHE-BULK-1", "POSTED");
+        read("CACHE-BULK-2", "POSTED");
+        
+        // When
+        mockMvc.perform(post("/api/reminders/transitions").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"companyNumber\":[\"CACHE-B\"],\"reminderLifecycleStatus\":\"DELIVERED\"}"))
+                .andExpect(status().isOk());
+        
+        // Then
+        read("CACHE-BULK-1", "DELIVERED");
+        read("CACHE-BULK-2", "DELIVERED");
+    }
+    
+    @Test
+    void dispatchEvictsWhatItSentOnceCommitted() throws Exception {
+        // Given: a due reminder read (and cached) while still POSTED
+        create("CACHE-DUE", "CACHE-D", LocalDate.now().minusDays(1), "POSTED");
+        read("CACHE-DUE", "POSTED");
+        
+        // When
+        while (dispatcher.dispatchBatch() > 0) {
+            Thread.onSpinWait();
+        }
+        
+        // Then
+        assertNull(cache.get("CACHE-DUE"));
+        read("CACHE-DUE", "SENT");
+    }
+    
+    private void read(String ref, String expectedStatus) throws Exception {
+        mockMvc.perform(get("/api/reminders/" + ref))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reminderLifecycleStatus").value(expectedStatus));
+    }
+    
+    private void create(String ref, String companyNumber, LocalDate dueDate, String status) throws Exception {
+        mockMvc.perform(post("/api/reminders").contentType(MediaType.APPLICATION_JSON)
+                        .content(json(ref, companyNumber, dueDate, status)))
+                .andExpect(status().isCreated());
+    }
+    
+    private static String json(String ref, String companyNumber, LocalDate dueDate, String status) {
+        return "{\"ref\":\"" + ref + "\",\"companyNumber\":\"" + companyNumber + "\","
+                + "\"dueDate\":\"" + dueDate + "\",\"reminderLifecycleStatus\":\"" + status + "\"}";
+    }
+}
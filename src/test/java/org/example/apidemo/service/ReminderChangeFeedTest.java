@@ -0,0 +1,120 @@
+package org.example.apidemo.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.apidemo.exception.InvalidChangeTokenException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changes;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+                + "INIT=CREATE SCHEMA IF NOT EXISTS companies_house_data",
+        "reminders.changes.settle-time=PT0.05S",
+        "reminders.changes.poll-interval=PT10S"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class ReminderChangeFeedTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Test
+    void feedReportsCreatesUpdatesDeletesAndRenamesInOrderFromTheLastPosition() throws Exception {
+        // Given: a position after everything so far
+        String since = changes(null, 1000).get("nextToken").asText();
+        
+        // When: reminders are created, updated, renamed and deleted
+        create("FEED-1");
+        create("FEED-2");
+        create("FEED-3");
+        mockMvc.perform(patch("/api/reminders/FEED-1").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reminderLifecycleStatus\":\"SENT\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/reminders/FEED-2").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ref\":\"FEED-2B\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/reminders/FEED-3"))
+                .andExpect(status().isNoContent());
+        Thread.sleep(100);
+        
+        // Then: each ref appears once, in its latest state, paged two at a time
+        List<String> seen = new ArrayList<>();
+        boolean more = true;
+        while (more) {
+            JsonNode page = changes(since, 2);
+            for (JsonNode change : page.get("changes")) {
+                seen.add(change.get("type").asText() + " " + change.get("ref").asText());
+            }
+            since = page.get("nextToken").asText();
+            more = page.get("more").asBoolean();
+        }
+        assertEquals(List.of("UPDATED FEED-1", "DELETED FEED-2", "UPDATED FEED-2B", "DELETED FEED-3"), seen);
+        
+        // And: the final position has nothing left to report
+        assertTrue(changes(since, 10).get("changes").isEmpty());
+    }
+    
+    @Test
+    void waitingRequestIsAnsweredWhenAChangeIsCommitted() throws Exception {
+        String since = changes(null, 1000).get("nextToken").asText();
+        
+        MvcResult waiting = mockMvc.perform(get("/api/reminders/changes").param("since", since).param("wait", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        long started = System.nanoTime();
+        create("FEED-WAIT");
+        
+        mockMvc.perform(asyncDispatch(waiting))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.changes[0].ref").value("FEED-WAIT"))
+                .andExpect(jsonPath("$.changes[0].reminder.companyNumber").value("15655987"));
+        // Woken by the commit, not by the (ten second) poll interval
+        assertTrue(System.nanoTime() - started < 5_000_000_000L);
+    }
+    
+    @Test
+    void malformedTokenIsRejectedWithBadRequest() throws Exception {
+        assertThrows(InvalidChangeTokenException.class, () -> ReminderChangeToken.decode("not-a-token"));
+        mockMvc.perform(get("/api/reminders/changes").param("since", "not-a-token"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+    
+    private JsonNode changes(String since, int limit) throws Exception {
+        var builder = get("/api/reminders/changes").param("limit", String.valueOf(limit));
+        if (since != null) {
+            builder.param("since", since);
+        }
+        MvcResult result = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+    
+    private void create(String ref) throws Exception {
+        mockMvc.perform(post("/api/reminders").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ref\":\"" + ref + "\",\"companyNumber\":\"15655987\","
+                                + "\"dueDate\":\"2026-01-17\",\"reminderLifecycleStatus\":\"POSTED\"}"))
+                .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.apidemo.service;
+
+import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.example.apidemo.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cursors exist for exactly the orderings {@link ReminderSortPlanner} allows, so the two
+ * cannot drift apart.
+ */
+class ReminderCursorTest {
+    
+    private static final ReminderResponse LAST = new ReminderResponse("REF-9", "15655987", LocalDate.of(2026, 1, 17),
+            ReminderLifecycleStatus.POSTED, LocalDateTime.of(2026, 1, 1, 9, 0), null,
+            LocalDateTime.of(2026, 1, 2, 10, 30, 15), LocalDateTime.of(2026, 1, 3, 11, 0));
+    
+    @Test
+    void everyPlannedSortFieldHasACursor() {
+        for (String sortBy : ReminderSortPlanner.sortFields()) {
+            // When
+            ReminderCursor cursor = ReminderCursor.after(LAST, sortBy, Sort.Direction.DESC);
+            ReminderCursor decoded = ReminderCursor.decode(cursor.encode());
+            
+            // Then
+            assertTrue(ReminderCursor.isSeekable(sortBy), sortBy);
+            assertEquals(sortBy, decoded.getSortBy());
+            assertEquals(Sort.Direction.DESC, decoded.getDirection());
+            assertEquals(cursor.getValue(), decoded.getValue(), sortBy);
+            assertEquals("REF-9", decoded.getRef());
+        }
+    }
+    
+    @Test
+    void fieldsThePlannerRejectsAreNotSeekable() {
+        for (String sortBy : new String[]{"updatedAt", "reminderGeneratedAt", "companyNumber", "reminderSentAt"}) {
+            assertFalse(ReminderSortPlanner.sortFields().contains(sortBy), sortBy);
+            assertFalse(ReminderCursor.isSeekable(sortBy), sortBy);
+            
+            // A hand-made cursor for one of them is refused rather than seeked on
+            String token = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (sortBy + "\nDESC\n2026-01-03T11:00\nREF-9").getBytes(StandardCharsets.UTF_8));
+            assertThrows(InvalidCursorException.class, () -> ReminderCursor.decode(token), sortBy);
+        }
+    }
+}
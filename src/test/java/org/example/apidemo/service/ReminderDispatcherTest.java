@@ -0,0 +1,124 @@
+package org.example.apidemo.service;
+
+import org.example.apidemo.dto.ReminderRequest;
+import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.entity.Reminder;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.example.apidemo.repository.ReminderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs several dispatchers against the embedded database at once and checks that every
+ * due reminder is sent exactly once.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dispatch;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;"
+                + "DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;INIT=CREATE SCHEMA IF NOT EXISTS companies_house_data",
+        "reminders.dispatch.enabled=true",
+        "reminders.dispatch.initial-delay=PT1H",
+        "reminders.dispatch.batch-size=5"
+})
+@ActiveProfiles("h2")
+class ReminderDispatcherTest {
+    
+    private static final int DUE = 60;
+    
+    @Autowired
+    private ReminderDispatcher dispatcher;
+    
+    @Autowired
+    private ReminderService reminderService;
+    
+    @Autowired
+    private ReminderRepository reminderRepository;
+    
+    @Autowired
+    private RecordingSender sender;
+    
+    @Test
+    void concurrentDispatchersSendEachDueReminderOnce() throws Exception {
+        // Given: due POSTED reminders, plus one not yet due and one already sent
+        List<ReminderRequest> requests = new ArrayList<>();
+        for (int i = 0; i < DUE; i++) {
+            requests.add(request("DUE-" + i, LocalDate.now().minusDays(i % 3), ReminderLifecycleStatus.POSTED));
+        }
+        requests.add(request("FUTURE", LocalDate.now().plusDays(1), ReminderLifecycleStatus.POSTED));
+        requests.add(request("DONE", LocalDate.now().minusDays(1), ReminderLifecycleStatus.SENT));
+        reminderService.createReminders(requests);
+        
+        // When: four dispatchers drain the backlog in parallel
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> runs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            runs.add(pool.submit(() -> {
+                while (dispatcher.dispatchBatch() > 0) {
+                    Thread.onSpinWait();
+                }
+            }));
+        }
+        for (Future<?> run : runs) {
+            run.get();
+        }
+        pool.shutdown();
+        
+        // Then: each due reminder was sent once and marked SENT; the others were left alone
+        assertEquals(DUE, sender.sends.size());
+        assertTrue(sender.sends.values().stream().allMatch(count -> count.get() == 1));
+        for (int i = 0; i < DUE; i++) {
+            Reminder reminder = reminderRepository.findByRef("DUE-" + i).orElseThrow();
+            assertEquals(ReminderLifecycleStatus.SENT, reminder.getReminderLifecycleStatus());
+            assertNotNull(reminder.getReminderSentAt());
+        }
+        assertEquals(ReminderLifecycleStatus.POSTED, reminderRepository.findByRef("FUTURE").orElseThrow().getReminderLifecycleStatus());
+        assertFalse(sender.sends.containsKey("DONE"));
+        assertEquals(0, reminderRepository.findDispatchBacklog().getCount());
+    }
+    
+    private static ReminderRequest request(String ref, LocalDate dueDate, ReminderLifecycleStatus status) {
+        ReminderRequest request = new ReminderRequest();
+        request.setRef(ref);
+        request.setCompanyNumber("12345678");
+        request.setDueDate(dueDate);
+        request.setReminderLifecycleStatus(status);
+        return request;
+    }
+    
+    @TestConfiguration
+    static class SenderConfig {
+        
+        @Bean
+        RecordingSender recordingSender() {
+            return new RecordingSender();
+        }
+    }
+    
+    static class RecordingSender implements ReminderSender {
+        
+        final Map<String, AtomicInteger> sends = new ConcurrentHashMap<>();
+        
+        @Override
+        public Collection<String> send(List<ReminderResponse> reminders) {
+            reminders.forEach(reminder -> sends.computeIfAbsent(reminder.getRef(), ref -> new AtomicInteger())
+                    .incrementAndGet());
+            return reminders.stream().map(ReminderResponse::getRef).toList();
+        }
+    }
+}
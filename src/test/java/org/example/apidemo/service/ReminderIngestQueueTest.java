@@ -0,0 +1,202 @@
+package org.example.apidemo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.apidemo.dto.ReminderBatchResult;
+import org.example.apidemo.dto.ReminderRequest;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.example.apidemo.repository.ReminderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Asynchronous creates through {@code POST /api/reminders} against the embedded database.
+ * The single writer can be held inside {@link ReminderService#createReminders}, so the
+ * queue's contents are known while requests are admitted or refused.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+                + "INIT=CREATE SCHEMA IF NOT EXISTS companies_house_data",
+        "reminders.ingest.async=true",
+        "reminders.ingest.queue-capacity=2",
+        "reminders.ingest.writers=1",
+        "reminders.ingest.retry-after=PT2S"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class ReminderIngestQueueTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private ReminderIngestQueue ingestQueue;
+    
+    @Autowired
+    private ReminderRepository reminderRepository;
+    
+    @SpyBean
+    private ReminderService reminderService;
+    
+    /** Counted down when the writer enters a flush. */
+    private volatile CountDownLatch entered = new CountDownLatch(1);
+    
+    /** The writer waits on this inside each flush until it is opened. */
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    
+    @BeforeEach
+    void holdWritesWhenAsked() {
+        doAnswer(invocation -> {
+            entered.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return invocation.callRealMethod();
+        }).when(reminderService).createReminders(anyList());
+    }
+    
+    @AfterEach
+    void releaseWriter() {
+        release.countDown();
+    }
+    
+    @Test
+    void queuedCreateIsAcceptedAndReportedOnceWritten() throws Exception {
+        // When
+        create("INGEST-1")
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/reminders/ingest/INGEST-1"))
+                .andExpect(jsonPath("$.outcome").value("QUEUED"));
+        
+        // Then: the status endpoint reports the write, and the reminder is readable
+        assertEquals(ReminderBatchResult.Outcome.CREATED, awaitWritten("INGEST-1"));
+        mockMvc.perform(get("/api/reminders/INGEST-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reminderLifecycleStatus").value("POSTED"));
+        mockMvc.perform(get("/api/reminders/ingest/NEVER-QUEUED"))
+                .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void refQueuedTwiceIsRefusedUntilWritten() throws Exception {
+        // Given: a request the writer is holding
+        holdWriter();
+        create("INGEST-DUP").andExpect(status().isAccepted());
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        mockMvc.perform(get("/api/reminders/ingest/INGEST-DUP"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.outcome").value("QUEUED"));
+        
+        // When: the same ref is posted again
+        // Then: it is refused instead of racing the first
+        create("INGEST-DUP")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.outcome").value("DUPLICATE"));
+        
+        // And: once written, the first one's outcome is reported
+        release.countDown();
+        assertEquals(ReminderBatchResult.Outcome.CREATED, awaitWritten("INGEST-DUP"));
+    }
+    
+    @Test
+    void fullQueueAnswers503WithRetryAfter() throws Exception {
+        // Given: the writer holding one request and the queue (capacity 2) full behind it
+        holdWriter();
+        create("INGEST-FULL-1").andExpect(status().isAccepted());
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        create("INGEST-FULL-2").andExpect(status().isAccepted());
+        create("INGEST-FULL-3").andExpect(status().isAccepted());
+        
+        // When
+        create("INGEST-FULL-4")
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+        
+        // Then: the refused request was not queued, and the others are written once the writer moves on
+        mockMvc.perform(get("/api/reminders/ingest/INGEST-FULL-4"))
+                .andExpect(status().isNotFound());
+        release.countDown();
+        for (String ref : new String[]{"INGEST-FULL-1", "INGEST-FULL-2", "INGEST-FULL-3"}) {
+            assertEquals(ReminderBatchResult.Outcome.CREATED, awaitWritten(ref));
+        }
+        assertFalse(reminderRepository.existsByRef("INGEST-FULL-4"));
+    }
+    
+    @Test
+    @DirtiesContext
+    void stopWritesWhatIsStillQueuedAndRefusesNewRequests() throws Exception {
+        // Given: queued requests behind a held writer
+        holdWriter();
+        create("INGEST-STOP-1").andExpect(status().isAccepted());
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        create("INGEST-STOP-2").andExpect(status().isAccepted());
+        create("INGEST-STOP-3").andExpect(status().isAccepted());
+        
+        // When: the queue is stopped, as on shutdown, and the writer then carries on
+        CompletableFuture<Void> stopped = CompletableFuture.runAsync(ingestQueue::stop);
+        while (ingestQueue.isRunning()) {
+            Thread.sleep(10);
+        }
+        create("INGEST-STOP-4")
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        release.countDown();
+        stopped.get(10, TimeUnit.SECONDS);
+        
+        // Then: stop returned only after everything accepted was written
+        for (String ref : new String[]{"INGEST-STOP-1", "INGEST-STOP-2", "INGEST-STOP-3"}) {
+            assertTrue(reminderRepository.existsByRef(ref), ref);
+        }
+        assertFalse(reminderRepository.existsByRef("INGEST-STOP-4"));
+    }
+    
+    private void holdWriter() {
+        entered = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+    
+    private ReminderBatchResult.Outcome awaitWritten(String ref) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            ReminderBatchResult status = ingestQueue.status(ref);
+            if (status != null && status.getOutcome() != ReminderBatchResult.Outcome.QUEUED) {
+                return status.getOutcome();
+            }
+            Thread.sleep(20);
+        }
+        return fail(ref + " was not written");
+    }
+    
+    private ResultActions create(String ref) throws Exception {
+        ReminderRequest request = new ReminderRequest();
+        request.setRef(ref);
+        request.setCompanyNumber("15655987");
+        request.setDueDate(LocalDate.now().plusDays(30));
+        request.setReminderLifecycleStatus(ReminderLifecycleStatus.POSTED);
+        return mockMvc.perform(post("/api/reminders").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+}
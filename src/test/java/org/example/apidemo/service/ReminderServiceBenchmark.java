@@ -0,0 +1,166 @@
+package org.example.apidemo.service;
+
+import org.example.apidemo.ApidemoApplication;
+import org.example.apidemo.dto.ReminderFilter;
+import org.example.apidemo.dto.ReminderRequest;
+import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.entity.Reminder;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hot paths of {@link ReminderService} against an embedded H2 database seeded with
+ * {@code rows} reminders spread over 1000 companies and four statuses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReminderServiceBenchmark {
+    
+    private static final ReminderLifecycleStatus[] STATUSES = ReminderLifecycleStatus.values();
+    
+    /** Lookups cycle over this many refs so a warm cache can actually serve them. */
+    private static final int HOT_REFS = 1000;
+    
+    @Param({"10000"})
+    private int rows;
+    
+    /** 0 disables the by-ref cache so lookups always reach the database. */
+    @Param({"0", "10000"})
+    private int cacheSize;
+    
+    private ConfigurableApplicationContext context;
+    private ReminderService reminderService;
+    private Reminder entity;
+    private final AtomicLong sequence = new AtomicLong();
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApidemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .properties("reminders.cache.maximum-size=" + cacheSize, "logging.level.root=WARN")
+                .run();
+        reminderService = context.getBean(ReminderService.class);
+        
+        List<ReminderRequest> seed = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            seed.add(request("SEED" + i, String.valueOf(i % 1000), STATUSES[i % STATUSES.length]));
+        }
+        reminderService.createReminders(seed);
+        
+        entity = new Reminder();
+        entity.setRef("MAP1");
+        entity.setCompanyNumber("15655987");
+        entity.setDueDate(LocalDate.of(2026, 1, 17));
+        entity.setReminderLifecycleStatus(ReminderLifecycleStatus.POSTED);
+        entity.setReminderGeneratedAt(LocalDateTime.of(2025, 12, 3, 9, 0, 10));
+        entity.setCreatedAt(LocalDateTime.of(2025, 12, 3, 9, 0, 10));
+        entity.setUpdatedAt(LocalDateTime.of(2025, 12, 3, 9, 0, 10));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public ReminderResponse getByReferenceNumber() {
+        return reminderService.getByReferenceNumber("SEED" + (sequence.incrementAndGet() % HOT_REFS));
+    }
+    
+    @Benchmark
+    public List<ReminderResponse> getAllReminders() {
+        return reminderService.getAllReminders(ReminderFilter.none(),
+                PageRequest.of(0, 10, Sort.by("createdAt").descending()));
+    }
+    
+    @Benchmark
+    public List<ReminderResponse> getAllRemindersByStatus() {
+        return reminderService.getAllReminders(filter(List.of(ReminderLifecycleStatus.POSTED), null),
+                PageRequest.of(0, 10, Sort.by("createdAt").descending()));
+    }
+    
+    @Benchmark
+    public List<ReminderResponse> getAllRemindersByCompanySortedByDueDate() {
+        return reminderService.getAllReminders(filter(null, List.of("42")),
+                PageRequest.of(0, 10, Sort.by("dueDate").ascending()));
+    }
+    
+    @Benchmark
+    public List<ReminderResponse> getAllRemindersByStatusAndCompany() {
+        return reminderService.getAllReminders(filter(List.of(ReminderLifecycleStatus.POSTED), List.of("400")),
+                PageRequest.of(0, 10, Sort.by("createdAt").descending()));
+    }
+    
+    /** One query for what took a request per status: active reminders due within a week. */
+    @Benchmark
+    public List<ReminderResponse> getAllRemindersActiveDueThisWeek() {
+        LocalDate from = LocalDate.of(2026, 1, 1).plusDays(sequence.incrementAndGet() % 250);
+        ReminderFilter filter = new ReminderFilter(List.copyOf(ReminderLifecycleStatus.ACTIVE), null, from, from.plusDays(6));
+        return reminderService.getAllReminders(filter, PageRequest.of(0, 10, Sort.by("dueDate").ascending()));
+    }
+    
+    @Benchmark
+    public ReminderResponse createReminder() {
+        return reminderService.createReminder(request("NEW" + sequence.incrementAndGet(), "15655987",
+                ReminderLifecycleStatus.POSTED));
+    }
+    
+    @Benchmark
+    public ReminderResponse patchReminder() {
+        ReminderRequest patch = new ReminderRequest();
+        long n = sequence.incrementAndGet();
+        patch.setReminderLifecycleStatus(STATUSES[(int) (n % STATUSES.length)]);
+        return reminderService.patchReminder(seedRef(n), patch, null);
+    }
+    
+    @Benchmark
+    public ReminderResponse mapToResponse() {
+        return ReminderService.mapToResponse(entity);
+    }
+    
+    private String seedRef(long n) {
+        return "SEED" + (n % rows);
+    }
+    
+    private static ReminderFilter filter(List<ReminderLifecycleStatus> statuses, List<String> companyNumbers) {
+        return new ReminderFilter(statuses, companyNumbers, null, null);
+    }
+    
+    private static ReminderRequest request(String ref, String companyNumber, ReminderLifecycleStatus status) {
+        ReminderRequest request = new ReminderRequest();
+        request.setRef(ref);
+        request.setCompanyNumber(companyNumber);
+        request.setDueDate(LocalDate.of(2026, 1, 1).plusDays(ref.hashCode() & 0xff));
+        request.setReminderLifecycleStatus(status);
+        return request;
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.apidemo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.apidemo.dto.ReminderRequest;
+import org.example.apidemo.dto.ReminderStats;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.example.apidemo.repository.ReminderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Checks the incremental stats counters against a full recount by the aggregate queries
+ * after each kind of write. The periodic resync is pushed out of the way, so only the
+ * change events (and the resyncs that bulk writes trigger themselves) move the counters.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stats;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+                + "INIT=CREATE SCHEMA IF NOT EXISTS companies_house_data",
+        "reminders.stats.incremental=true",
+        "reminders.stats.resync-interval=PT1H",
+        "reminders.archive.enabled=true",
+        "reminders.archive.retention=P30D",
+        "reminders.archive.initial-delay=PT1H"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class ReminderStatsCountersTest {
+    
+    private static final int TOP = 100;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private ReminderRepository reminderRepository;
+    
+    @Autowired
+    private ReminderService reminderService;
+    
+    @Autowired
+    private ReminderArchiver archiver;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Test
+    void countersMatchARecountAfterEveryKindOfWrite() throws Exception {
+        LocalDate past = LocalDate.now().minusDays(3);
+        LocalDate future = LocalDate.now().plusDays(3);
+        
+        // Creates, one at a time and in a batch
+        create("ST-1", "STATS-A", past, "POSTED");
+        create("ST-2", "STATS-A", future, "POSTED");
+        create("ST-3", "STATS-B", past, "SENT");
+        assertCountersMatchRecount();
+        mockMvc.perform(post("/api/reminders/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + json("ST-4", "STATS-B", past, "POSTED") + ","
+                                + json("ST-5", "STATS-C", future, "PENDING") + ","
+                                + json("ST-OLD", "STATS-C", LocalDate.now().minusDays(90), "DELIVERED") + "]"))
+                .andExpect(status().isOk());
+        assertCountersMatchRecount();
+        
+        // Partial and full updates moving a reminder between status, company and overdue buckets
+        mockMvc.perform(patch("/api/reminders/ST-1").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reminderLifecycleStatus\":\"SENT\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/reminders/ST-2").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"companyNumber\":\"STATS-B\",\"dueDate\":\"" + past + "\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/reminders/ST-5").contentType(MediaType.APPLICATION_JSON)
+                        .content(json("ST-5", "STATS-A", past, "POSTED")))
+                .andExpect(status().isOk());
+        assertCountersMatchRecount();
+        
+        // Bulk transition
+        mockMvc.perform(post("/api/reminders/transitions").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"companyNumber\":[\"STATS-B\"],\"fromStatus\":[\"POSTED\"],"
+                                + "\"reminderLifecycleStatus\":\"DELIVERED\"}"))
+                .andExpect(status().isOk());
+        assertCountersMatchRecount();
+        
+        // Delete
+        mockMvc.perform(delete("/api/reminders/ST-3"))
+                .andExpect(status().isNoContent());
+        assertCountersMatchRecount();
+        
+        // Archive
+        archiver.archiveDelivered();
+        assertFalse(reminderRepository.existsByRef("ST-OLD"));
+        assertCountersMatchRecount();
+    }
+    
+    @Test
+    void rolledBackWritesLeaveTheCountersAlone() throws Exception {
+        // Given
+        create("ST-RB-1", "STATS-RB", LocalDate.now().minusDays(1), "POSTED");
+        create("ST-RB-2", "STATS-RB", LocalDate.now().plusDays(1), "POSTED");
+        ReminderStats before = stats();
+        
+        // When: a create, a status change and a delete happen in a transaction that rolls back
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            reminderService.createReminder(request("ST-RB-3", "STATS-RB", LocalDate.now().minusDays(1), "POSTED"));
+            reminderService.patchReminder("ST-RB-1", request(null, null, null, "DELIVERED"), null);
+            reminderService.deleteReminder("ST-RB-2");
+            status.setRollbackOnly();
+        });
+        
+        // Then: none of their events reached the counters
+        assertEquals(before, stats());
+        assertCountersMatchRecount();
+    }
+    
+    private void assertCountersMatchRecount() throws Exception {
+        ReminderStats counters = stats();
+        assertEquals(ReminderStats.Source.COUNTERS, counters.getSource());
+        
+        Map<String, Long> byStatus = new TreeMap<>();
+        reminderRepository.countByStatus()
+                .forEach(row -> byStatus.put(ReminderStatsCounters.statusKey(row.getKey()), row.getCount()));
+        assertEquals(byStatus, counters.getByStatus());
+        assertEquals(reminderRepository.countOpenByCompany(Limit.of(TOP)), counters.getTopCompanies());
+        assertEquals(reminderRepository.countOverdue(), counters.getOverdue());
+    }
+    
+    private ReminderStats stats() throws Exception {
+        String body = mockMvc.perform(get("/api/reminders/stats").param("top", String.valueOf(TOP)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, ReminderStats.class);
+    }
+    
+    private void create(String ref, String companyNumber, LocalDate dueDate, String status) throws Exception {
+        mockMvc.perform(post("/api/reminders").contentType(MediaType.APPLICATION_JSON)
+                        .content(json(ref, companyNumber, dueDate, status)))
+                .andExpect(status().isCreated());
+    }
+    
+    private static String json(String ref, String companyNumber, LocalDate dueDate, String status) {
+        return "{\"ref\":\"" + ref + "\",\"companyNumber\":\"" + companyNumber + "\","
+                + "\"dueDate\":\"" + dueDate + "\",\"reminderLifecycleStatus\":\"" + status + "\"}";
+    }
+    
+    private static ReminderRequest request(String ref, String companyNumber, LocalDate dueDate, String status) {
+        ReminderRequest request = new ReminderRequest();
+        request.setRef(ref);
+        request.setCompanyNumber(companyNumber);
+        request.setDueDate(dueDate);
+        request.setReminderLifecycleStatus(ReminderLifecycleStatus.valueOf(status));
+        return request;
+    }
+}
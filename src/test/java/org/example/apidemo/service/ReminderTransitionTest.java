@@ -0,0 +1,94 @@
+package org.example.apidemo.service;
+
+import org.example.apidemo.dto.ReminderResponse;
+import org.example.apidemo.entity.ReminderLifecycleStatus;
+import org.example.apidemo.repository.ReminderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transitions;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+                + "INIT=CREATE SCHEMA IF NOT EXISTS companies_house_data",
+        "reminders.transitions.chunk-size=2"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class ReminderTransitionTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ReminderRepository reminderRepository;
+    
+    @Test
+    void matchingRemindersAreMovedInChunksAndOnlyFromAllowedStatuses() throws Exception {
+        // Given: five reminders of one company in the window (one already SENT, one DELIVERED),
+        // one outside the window and one of another company
+        create("TR-1", "11110000", "2026-03-02", "POSTED");
+        create("TR-2", "11110000", "2026-03-03", "PENDING");
+        create("TR-3", "11110000", "2026-03-04", "POSTED");
+        create("TR-4", "11110000", "2026-03-05", "SENT");
+        create("TR-5", "11110000", "2026-03-06", "DELIVERED");
+        create("TR-LATE", "11110000", "2026-04-01", "POSTED");
+        create("TR-OTHER", "22220000", "2026-03-02", "POSTED");
+        mockMvc.perform(get("/api/reminders/TR-1")).andExpect(status().isOk());
+        
+        // When: the window is moved to SENT, but only from POSTED or PENDING
+        String body = "{\"companyNumber\":[\"11110000\"],\"dueFrom\":\"2026-03-01\",\"dueTo\":\"2026-03-31\","
+                + "\"fromStatus\":[\"POSTED\",\"PENDING\"],\"reminderLifecycleStatus\":\"SENT\"}";
+        mockMvc.perform(post("/api/reminders/transitions").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(3));
+        
+        // Then: the three open ones moved and got a sent time, across more than one chunk
+        for (String ref : new String[] {"TR-1", "TR-2", "TR-3"}) {
+            ReminderResponse reminder = reminderRepository.findResponseByRef(ref).orElseThrow();
+            assertEquals(ReminderLifecycleStatus.SENT, reminder.getReminderLifecycleStatus());
+            assertNotNull(reminder.getReminderSentAt());
+        }
+        assertEquals(ReminderLifecycleStatus.DELIVERED, statusOf("TR-5"));
+        assertEquals(ReminderLifecycleStatus.POSTED, statusOf("TR-LATE"));
+        assertEquals(ReminderLifecycleStatus.POSTED, statusOf("TR-OTHER"));
+        assertNull(reminderRepository.findResponseByRef("TR-4").orElseThrow().getReminderSentAt());
+        
+        // And: cached reads see the new status
+        mockMvc.perform(get("/api/reminders/TR-1"))
+                .andExpect(jsonPath("$.reminderLifecycleStatus").value("SENT"));
+        
+        // And: repeating the transition moves nothing
+        mockMvc.perform(post("/api/reminders/transitions").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(jsonPath("$.updated").value(0));
+    }
+    
+    @Test
+    void transitionWithoutTargetOrFilterIsRejected() throws Exception {
+        mockMvc.perform(post("/api/reminders/transitions").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reminderLifecycleStatus\":\"DELIVERED\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/reminders/transitions").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"companyNumber\":[\"11110000\"]}"))
+                .andExpect(status().isBadRequest());
+    }
+    
+    private ReminderLifecycleStatus statusOf(String ref) {
+        return reminderRepository.findResponseByRef(ref).orElseThrow().getReminderLifecycleStatus();
+    }
+    
+    private void create(String ref, String companyNumber, String dueDate, String status) throws Exception {
+        mockMvc.perform(post("/api/reminders").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ref\":\"" + ref + "\",\"companyNumber\":\"" + companyNumber + "\","
+                                + "\"dueDate\":\"" + dueDate + "\",\"reminderLifecycleStatus\":\"" + status + "\"}"))
+                .andExpect(status().isCreated());
+    }
+}
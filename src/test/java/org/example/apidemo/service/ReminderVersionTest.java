@@ -0,0 +1,93 @@
+package org.example.apidemo.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:versions;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+                + "INIT=CREATE SCHEMA IF NOT EXISTS companies_house_data",
+        "reminders.archive.enabled=true",
+        "reminders.archive.retention=P30D",
+        "reminders.archive.initial-delay=PT1H"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class ReminderVersionTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ReminderArchiver archiver;
+    
+    @Test
+    void listingThatLostARowToADeleteIsModified() throws Exception {
+        // Given: a listing and its Last-Modified
+        create("VER-DEL-1", "VER-DEL", LocalDate.now(), "POSTED");
+        create("VER-DEL-2", "VER-DEL", LocalDate.now(), "POSTED");
+        String lastModified = lastModified("VER-DEL");
+        notModifiedSince("VER-DEL", lastModified);
+        
+        // When: one of its rows is deleted, a second later (HTTP dates have whole seconds)
+        Thread.sleep(1100);
+        mockMvc.perform(delete("/api/reminders/VER-DEL-2"))
+                .andExpect(status().isNoContent());
+        
+        // Then: the rows left are unchanged, but the listing is not
+        mockMvc.perform(get("/api/reminders").param("companyNumber", "VER-DEL")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+    
+    @Test
+    void listingThatLostARowToTheArchiveIsModified() throws Exception {
+        // Given: a listing holding an old DELIVERED reminder
+        create("VER-ARCH-1", "VER-ARCH", LocalDate.now(), "POSTED");
+        create("VER-ARCH-2", "VER-ARCH", LocalDate.now().minusDays(90), "DELIVERED");
+        String lastModified = lastModified("VER-ARCH");
+        notModifiedSince("VER-ARCH", lastModified);
+        
+        // When: that reminder is archived, a second later
+        Thread.sleep(1100);
+        archiver.archiveDelivered();
+        
+        // Then
+        mockMvc.perform(get("/api/reminders").param("companyNumber", "VER-ARCH")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+    
+    private String lastModified(String companyNumber) throws Exception {
+        return mockMvc.perform(get("/api/reminders").param("companyNumber", companyNumber))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+    }
+    
+    private void notModifiedSince(String companyNumber, String lastModified) throws Exception {
+        mockMvc.perform(get("/api/reminders").param("companyNumber", companyNumber)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+    
+    private void create(String ref, String companyNumber, LocalDate dueDate, String status) throws Exception {
+        mockMvc.perform(post("/api/reminders").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ref\":\"" + ref + "\",\"companyNumber\":\"" + companyNumber + "\","
+                                + "\"dueDate\":\"" + dueDate + "\",\"reminderLifecycleStatus\":\"" + status + "\"}"))
+                .andExpect(status().isCreated());
+    }
+}